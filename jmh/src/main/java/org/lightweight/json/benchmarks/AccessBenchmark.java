@@ -0,0 +1,105 @@
+package org.lightweight.json.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lightweight.json.JSONBinder;
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.components.JSONValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the values of a parsed JSON object through the accessors of {@link JSONValue}, and binds the same object to a record
+ * through {@link JSONBinder} compared with reading every value by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessBenchmark {
+	private static final String USER = "{\"id\":1234567,\"name\":\"Ada Lovelace\",\"screen_name\":\"ada_1815\",\"followers_count\":98765,"
+			+ "\"verified\":true,\"score\":4.52e1,\"bio\":\"\\\"Analyst\\\", metaphysician \\u0026 founder of scientific computing\"}";
+	
+	/**
+	 * The record {@link AccessBenchmark#USER} is bound to.
+	 */
+	public record User(long id, String name, String screen_name, int followers_count, boolean verified, double score, String bio) {}
+	
+	private JSONObject user;
+	private JSONValue id, name, followers, verified, score, bio;
+	
+	@Setup
+	public void setup() {
+		this.user = JSONParser.parseObject(USER);
+		this.id = this.user.get("id");
+		this.name = this.user.get("name");
+		this.followers = this.user.get("followers_count");
+		this.verified = this.user.get("verified");
+		this.score = this.user.get("score");
+		this.bio = this.user.get("bio");
+	}
+	
+	@Benchmark
+	public JSONValue get() {
+		return this.user.get("followers_count");
+	}
+	
+	@Benchmark
+	public int getAsInt() {
+		return this.followers.getAsInt();
+	}
+	
+	@Benchmark
+	public long getAsLong() {
+		return this.id.getAsLong();
+	}
+	
+	@Benchmark
+	public double getAsDouble() {
+		return this.score.getAsDouble();
+	}
+	
+	@Benchmark
+	public boolean getAsBoolean() {
+		return this.verified.getAsBoolean();
+	}
+	
+	@Benchmark
+	public String getAsString() {
+		return this.name.getAsString();
+	}
+	
+	@Benchmark
+	public String getAsStringEscaped() {
+		return this.bio.getAsString();
+	}
+	
+	@Benchmark
+	public CharSequence getAsCharSequence() {
+		return this.name.getAsCharSequence();
+	}
+	
+	@Benchmark
+	public User bindManually() {
+		final JSONObject user = JSONParser.parseObject(USER);
+		
+		return new User(user.get("id").getAsLong(), user.get("name").getAsString(), user.get("screen_name").getAsString(), user.get("followers_count").getAsInt(),
+				user.get("verified").getAsBoolean(), user.get("score").getAsDouble(), user.get("bio").getAsString());
+	}
+	
+	@Benchmark
+	public User bindThroughBinder() {
+		return JSONBinder.bind(USER, User.class);
+	}
+}
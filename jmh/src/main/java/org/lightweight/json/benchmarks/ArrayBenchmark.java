@@ -0,0 +1,83 @@
+package org.lightweight.json.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses the array of a million elements and reads its elements in a random order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayBenchmark {
+	// The amount of elements read by a single invocation of the random access benchmark.
+	private static final int READS = 1024;
+	
+	private String json;
+	private Path path;
+	private JSONArray array;
+	private int[] indexes;
+	
+	@Setup
+	public void setup() throws IOException {
+		this.json = Corpus.HUGE_ARRAY.generate();
+		this.path = Corpus.write(this.json);
+		this.array = JSONParser.parseArray(this.json);
+		this.indexes = new Random(0).ints(READS, 0, this.array.size()).toArray();
+	}
+	
+	@Benchmark
+	public JSONArray parseArrayCharSequence() {
+		return JSONParser.parseArray(this.json);
+	}
+	
+	@Benchmark
+	public JSONArray parseArrayPath() {
+		return JSONParser.parseArray(this.path);
+	}
+	
+	@Benchmark
+	public JSONArray parseArrayParallel() {
+		return JSONParser.parseArrayParallel(this.json);
+	}
+	
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	@OperationsPerInvocation(READS)
+	public void getRandomElement(final Blackhole blackhole) {
+		for (final int index : this.indexes) {
+			blackhole.consume(this.array.get(index));
+		}
+	}
+	
+	@Benchmark
+	public long iterateElements() {
+		long sum = 0;
+		
+		for (final JSONValue element : this.array) {
+			sum += element.getAsJSONObject().get("id").getAsLong();
+		}
+		return sum;
+	}
+}
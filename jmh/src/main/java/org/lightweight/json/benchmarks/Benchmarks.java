@@ -0,0 +1,26 @@
+package org.lightweight.json.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the allocation profiler, so every result reports the bytes allocated per operation and the
+ * collections next to the time, and writes the results to {@code benchmarks.json} to be compared with the results of a release.
+ * <p>The arguments are the same as the arguments of the main class of JMH, for example {@code ParseBenchmark -p corpus=TWITTER}
+ * only runs the parse benchmarks against a single corpus.</p>
+ */
+public class Benchmarks {
+	public static void main(final String[] arguments) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(arguments))
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("benchmarks.json")
+				.build()).run();
+	}
+}
@@ -0,0 +1,146 @@
+package org.lightweight.json.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * The synthetic documents the benchmarks are run against, generated from a fixed seed so every run reads the same text.
+ */
+public enum Corpus {
+	/**
+	 * A search result of a few hundred statuses with nested users and entities, mostly strings with some escapes and non-ASCII characters.
+	 */
+	TWITTER {
+		@Override
+		void generate(final StringBuilder json, final Random random) {
+			json.append("{\"statuses\":[");
+			
+			for (int status = 0; status < 400; ++status) {
+				if (status > 0) {
+					json.append(',');
+				}
+				final long id = 1_500_000_000_000_000_000L + random.nextInt(1 << 30);
+				
+				json.append("{\"created_at\":\"Mon Oct 12 0").append(random.nextInt(10)).append(":4").append(random.nextInt(10)).append(":12 +0000 2026\"");
+				json.append(",\"id\":").append(id).append(",\"id_str\":\"").append(id).append('"');
+				json.append(",\"text\":\"");
+				Corpus.text(json, random, 20 + random.nextInt(60));
+				json.append("\",\"truncated\":").append(random.nextBoolean());
+				json.append(",\"user\":{\"id\":").append(random.nextInt(1 << 30)).append(",\"name\":\"");
+				Corpus.text(json, random, 2 + random.nextInt(3));
+				json.append("\",\"screen_name\":\"user_").append(random.nextInt(100_000)).append('"');
+				json.append(",\"followers_count\":").append(random.nextInt(1_000_000));
+				json.append(",\"verified\":").append(random.nextInt(10) == 0);
+				json.append(",\"description\":\"");
+				Corpus.text(json, random, random.nextInt(30));
+				json.append("\"},\"entities\":{\"hashtags\":[");
+				
+				for (int hashtag = 0, hashtags = random.nextInt(4); hashtag < hashtags; ++hashtag) {
+					final int start = random.nextInt(100);
+					
+					json.append(hashtag > 0 ? "," : "").append("{\"text\":\"tag").append(random.nextInt(1000)).append("\",\"indices\":[").append(start).append(',').append(start + 8).append("]}");
+				}
+				json.append("],\"urls\":[]},\"retweet_count\":").append(random.nextInt(5000));
+				json.append(",\"favorited\":false,\"lang\":\"").append(random.nextBoolean() ? "en" : "ja").append("\",\"coordinates\":null}");
+			}
+			json.append("],\"search_metadata\":{\"completed_in\":0.087,\"max_id\":1500000000000000000,\"query\":\"%23json\",\"count\":400}}");
+		}
+	},
+	/**
+	 * Coordinates and measurements, almost every value is a number, a third of them with exponents.
+	 */
+	NUMERIC {
+		@Override
+		void generate(final StringBuilder json, final Random random) {
+			json.append("{\"type\":\"FeatureCollection\",\"coordinates\":[");
+			
+			for (int point = 0; point < 20_000; ++point) {
+				json.append(point > 0 ? ",[" : "[").append(random.nextDouble() * 360 - 180).append(',').append(random.nextDouble() * 180 - 90).append(',');
+				json.append(random.nextInt(3) == 0 ? String.valueOf(random.nextGaussian() * 1e-7) : String.valueOf(random.nextInt(9000))).append(']');
+			}
+			json.append("],\"ids\":[");
+			
+			for (int id = 0; id < 20_000; ++id) {
+				json.append(id > 0 ? "," : "").append(random.nextLong());
+			}
+			json.append("]}");
+		}
+	},
+	/**
+	 * Objects nested a few hundred levels deep, every level holds a few values and an array besides the next level.
+	 */
+	NESTED {
+		@Override
+		void generate(final StringBuilder json, final Random random) {
+			for (int level = 0; level < DEPTH; ++level) {
+				json.append("{\"level\":").append(level).append(",\"name\":\"level ").append(level).append("\",\"weights\":[");
+				json.append(random.nextDouble()).append(',').append(random.nextDouble()).append("],\"child\":");
+			}
+			json.append("null");
+			
+			for (int level = 0; level < DEPTH; ++level) {
+				json.append('}');
+			}
+		}
+	},
+	/**
+	 * A single array of a million small objects.
+	 */
+	HUGE_ARRAY {
+		@Override
+		void generate(final StringBuilder json, final Random random) {
+			json.append('[');
+			
+			for (int element = 0; element < 1_000_000; ++element) {
+				json.append(element > 0 ? "," : "").append("{\"id\":").append(element).append(",\"score\":").append(random.nextInt(100_000) / 100.0);
+				json.append(",\"active\":").append(random.nextBoolean()).append('}');
+			}
+			json.append(']');
+		}
+	};
+	
+	/**
+	 * The amount of levels of {@link Corpus#NESTED}.
+	 */
+	public static final int DEPTH = 256;
+	
+	// The words of the generated text, with quotes, backslashes, control characters and characters outside of ASCII.
+	private static final String[] WORDS = {
+		"json", "parser", "the", "fast", "\\\"quoted\\\"", "caf\u00e9", "\u65e5\u672c\u8a9e", "line\\nbreak", "path\\/to", "tab\\tbed", "\ud83d\ude00", "lightweight", "of", "and"
+	};
+	
+	abstract void generate(StringBuilder json, Random random);
+	
+	/**
+	 * @return the text of this corpus, the same for every call.
+	 */
+	public String generate() {
+		final StringBuilder json = new StringBuilder();
+		
+		this.generate(json, new Random(this.ordinal()));
+		return json.toString();
+	}
+	
+	/**
+	 * Writes {@code json} encoded as UTF-8 to a new temporary file, which is deleted when the virtual machine exits.
+	 * 
+	 * @param json - the text that will be written.
+	 * @return the path of the file.
+	 * @throws IOException if the file could not be written.
+	 */
+	public static Path write(final String json) throws IOException {
+		final Path file = Files.createTempFile("corpus", ".json");
+		
+		file.toFile().deleteOnExit();
+		return Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private static void text(final StringBuilder json, final Random random, final int words) {
+		for (int word = 0; word < words; ++word) {
+			json.append(word > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package org.lightweight.json.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.JSONTape;
+import org.lightweight.json.components.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Indexes whole documents into tapes with the structural scanner, next to a lazy parse of the outermost level,
+ * which reads one character at a time. The time per document divided into the sizes printed at the setup gives the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+	@Param({ "TWITTER", "NUMERIC", "NESTED" })
+	public Corpus corpus;
+	
+	private String json;
+	
+	@Setup
+	public void setup() {
+		this.json = this.corpus.generate();
+		
+		System.out.println(this.corpus + ": " + this.json.length() + " characters, " + this.json.getBytes(StandardCharsets.UTF_8).length + " bytes");
+	}
+	
+	@Benchmark
+	public JSONTape index() {
+		return JSONParser.index(this.json);
+	}
+	
+	@Benchmark
+	public JSONObject parseObject() {
+		return JSONParser.parseObject(this.json);
+	}
+}
@@ -0,0 +1,88 @@
+package org.lightweight.json.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.JSONPath;
+import org.lightweight.json.components.JSONCache;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.components.JSONValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Walks down nested JSON objects, either parsing every level once it is navigated to, through a tape, through a path, or through a cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigateBenchmark {
+	@Param({ "8", "64", "255" })
+	public int depth;
+	
+	private String nested, twitter;
+	private JSONObject parsed, indexed, statuses, cached;
+	private JSONPath deepest, screenName;
+	
+	@Setup
+	public void setup() {
+		this.nested = Corpus.NESTED.generate();
+		this.twitter = Corpus.TWITTER.generate();
+		this.parsed = JSONParser.parseObject(this.nested);
+		this.indexed = JSONParser.indexObject(this.nested);
+		this.statuses = JSONParser.parseObject(this.twitter);
+		this.cached = JSONParser.parseObject(this.twitter).setCache(JSONCache.unbounded());
+		this.deepest = JSONPath.compile("$" + ".child".repeat(this.depth) + ".level");
+		this.screenName = JSONPath.compile("$.statuses[" + (this.depth % 400) + "].user.screen_name");
+	}
+	
+	@Benchmark
+	public int walkParsed() {
+		return NavigateBenchmark.walk(this.parsed, this.depth);
+	}
+	
+	@Benchmark
+	public int walkIndexed() {
+		return NavigateBenchmark.walk(this.indexed, this.depth);
+	}
+	
+	@Benchmark
+	public int walkPath() {
+		return this.deepest.evaluate(this.nested).getAsInt();
+	}
+	
+	@Benchmark
+	public String statusParsed() {
+		return this.statuses.get("statuses").getAsJSONArray().get(this.depth % 400).getAsJSONObject().get("user").getAsJSONObject().get("screen_name").getAsString();
+	}
+	
+	@Benchmark
+	public String statusCached() {
+		return this.cached.get("statuses").getAsJSONArray().get(this.depth % 400).getAsJSONObject().get("user").getAsJSONObject().get("screen_name").getAsString();
+	}
+	
+	@Benchmark
+	public String statusPath() {
+		return this.screenName.evaluate(this.twitter).getAsString();
+	}
+	
+	private static int walk(JSONObject object, final int depth) {
+		for (int level = 0; level < depth; ++level) {
+			object = object.get("child").getAsJSONObject();
+		}
+		final JSONValue level = object.get("level");
+		return level.getAsInt();
+	}
+}
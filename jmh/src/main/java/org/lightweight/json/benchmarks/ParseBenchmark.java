@@ -0,0 +1,78 @@
+package org.lightweight.json.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.components.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses whole JSON objects from the different inputs the parser accepts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+	@Param({ "TWITTER", "NUMERIC", "NESTED" })
+	public Corpus corpus;
+	
+	private String json;
+	private byte[] bytes;
+	private Path path;
+	private File file;
+	
+	@Setup
+	public void setup() throws IOException {
+		this.json = this.corpus.generate();
+		this.bytes = this.json.getBytes(StandardCharsets.UTF_8);
+		this.path = Corpus.write(this.json);
+		this.file = this.path.toFile();
+	}
+	
+	@Benchmark
+	public JSONObject parseObjectCharSequence() {
+		return JSONParser.parseObject(this.json);
+	}
+	
+	@Benchmark
+	public JSONObject parseObjectBytes() {
+		return JSONParser.parseObject(this.bytes, 0, this.bytes.length);
+	}
+	
+	@Benchmark
+	public JSONObject parseObjectPath() {
+		return JSONParser.parseObject(this.path);
+	}
+	
+	@Benchmark
+	public JSONObject parseObjectFile() {
+		return JSONParser.parseObject(this.file);
+	}
+	
+	@Benchmark
+	public JSONObject parseObjectContext() {
+		return JSONParser.Context.local().parseObject(this.json);
+	}
+	
+	@Benchmark
+	public JSONObject indexObject() {
+		return JSONParser.indexObject(this.json);
+	}
+}
@@ -0,0 +1,106 @@
+package org.lightweight.json.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.JSONWriter;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.utils.JSONUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes parsed components back to text, and escapes and unescapes strings with and without special characters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializeBenchmark {
+	@Param({ "TWITTER", "NUMERIC", "NESTED" })
+	public Corpus corpus;
+	
+	private JSONObject object, bytes;
+	private String clean, special, escaped;
+	
+	// A stream that discards what is written, so only the encoding is measured.
+	private final OutputStream discarded = OutputStream.nullOutputStream();
+	
+	@Setup
+	public void setup() {
+		final String json = this.corpus.generate();
+		final byte[] encoded = json.getBytes(StandardCharsets.UTF_8);
+		
+		this.object = JSONParser.parseObject(json);
+		this.bytes = JSONParser.parseObject(encoded, 0, encoded.length);
+		this.clean = "The quick brown fox jumps over the lazy dog, ".repeat(64);
+		this.special = "Line\n\t\"quoted\" \\ back/slash \u0001 ".repeat(64);
+		this.escaped = JSONUtils.escapeAsString(this.special);
+	}
+	
+	@Benchmark
+	public String toText() {
+		return this.object.toString();
+	}
+	
+	@Benchmark
+	public void writeToStream() throws IOException {
+		this.object.writeTo(this.discarded, StandardCharsets.UTF_8);
+	}
+	
+	@Benchmark
+	public void writeBytesToStream() throws IOException {
+		this.bytes.writeTo(this.discarded, StandardCharsets.UTF_8);
+	}
+	
+	@Benchmark
+	public long getByteLength() {
+		return this.object.getByteLength();
+	}
+	
+	@Benchmark
+	public void writeTokens() throws IOException {
+		final JSONWriter writer = new JSONWriter(this.discarded);
+		
+		writer.beginObject().name("statuses").beginArray();
+		
+		for (int status = 0; status < 100; ++status) {
+			writer.beginObject().name("id").value(1_500_000_000_000_000_000L + status).name("text").value(this.clean).name("score").value(status / 7.0).endObject();
+		}
+		writer.endArray().endObject().flush();
+	}
+	
+	@Benchmark
+	public String escapeClean() {
+		return JSONUtils.escapeAsString(this.clean);
+	}
+	
+	@Benchmark
+	public String escapeSpecial() {
+		return JSONUtils.escapeAsString(this.special);
+	}
+	
+	@Benchmark
+	public String unescapeClean() {
+		return JSONUtils.unescapeAsString(this.clean);
+	}
+	
+	@Benchmark
+	public String unescapeSpecial() {
+		return JSONUtils.unescapeAsString(this.escaped);
+	}
+}
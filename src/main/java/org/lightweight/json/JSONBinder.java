@@ -0,0 +1,563 @@
+package org.lightweight.json;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.components.JSONValue;
+import org.lightweight.json.exceptions.JSONParseException;
+import org.lightweight.json.utils.JSONNumbers;
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * Binds JSON objects to instances of a class or a record without navigating through components.
+ * <p>The plan of a type, which is its properties, their names and how their values are decoded, is built once through reflection
+ * and cached for the type. Binding then reads the text of a JSON object in place: the values are decoded straight from their
+ * bounds, the values of names that are not properties are skipped, and neither components nor names are created. The names are
+ * expected in the order in which the properties are declared, a name is only hashed and looked up if it is not the property that
+ * follows the previous one.</p>
+ * <p>A class needs a constructor without parameters, its fields that are neither static nor transient are its properties, including
+ * the fields of its superclasses. A record is created through its canonical constructor. A property may be a primitive or its
+ * wrapper, a {@link String}, a {@link UUID}, an enum, a {@link JSONValue}, {@link JSONObject} or {@link JSONArray}, a {@link List}
+ * of any of these, or any other type that can be bound. Properties whose names are missing keep their default values, so do primitive
+ * properties whose values are null.</p>
+ * <p>A binder is immutable, it may be shared by several threads.</p>
+ * 
+ * @param <T> the type the JSON objects are bound to.
+ */
+public class JSONBinder<T> {
+	// The kinds of properties, they decide how a value is decoded.
+	private static final int KIND_BOOLEAN = 0, KIND_BYTE = 1, KIND_SHORT = 2, KIND_CHARACTER = 3, KIND_INT = 4, KIND_LONG = 5, KIND_FLOAT = 6, KIND_DOUBLE = 7,
+			KIND_STRING = 8, KIND_UUID = 9, KIND_ENUM = 10, KIND_VALUE = 11, KIND_OBJECT = 12, KIND_ARRAY = 13, KIND_LIST = 14, KIND_BOUND = 15;
+	
+	private static final ClassValue<JSONBinder<?>> BINDERS = new ClassValue<>() {
+		@Override
+		protected JSONBinder<?> computeValue(final Class<?> type) {
+			return new JSONBinder<>(type);
+		}
+	};
+	
+	private final Class<T> type;
+	private final Property[] properties;
+	private final JSONProjection names; // The names of the properties, in the same order.
+	
+	// A record is created from its arguments once every value was read, an instance of a class is created first.
+	private final boolean record;
+	private final MethodHandle constructor;
+	private final Object[] defaults; // The default arguments of a record, zero for its primitive components.
+	
+	private JSONBinder(final Class<T> type) {
+		this.type = type;
+		
+		final List<Property> properties = new ArrayList<>();
+		
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			
+			if (type.isRecord()) {
+				final RecordComponent[] components = type.getRecordComponents();
+				final Class<?>[] parameters = new Class<?>[components.length];
+				
+				for (int i = 0; i < components.length; ++i) {
+					properties.add(Property.of(components[i].getName(), i, components[i].getGenericType(), null));
+					parameters[i] = components[i].getType();
+				}
+				final Constructor<T> canonical = type.getDeclaredConstructor(parameters);
+				canonical.setAccessible(true);
+				
+				this.constructor = lookup.unreflectConstructor(canonical).asSpreader(Object[].class, parameters.length).asType(MethodType.methodType(Object.class, Object[].class));
+				this.defaults = new Object[parameters.length];
+				
+				for (int i = 0; i < parameters.length; ++i) {
+					this.defaults[i] = parameters[i].isPrimitive() ? MethodHandles.zero(parameters[i]).invoke() : null;
+				}
+			} else {
+				// The fields of the superclasses come first.
+				final List<Class<?>> hierarchy = new ArrayList<>();
+				
+				for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+					hierarchy.add(0, current);
+				}
+				for (final Class<?> current : hierarchy) {
+					for (final Field field : current.getDeclaredFields()) {
+						if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0 || field.isSynthetic()) {
+							continue;
+						}
+						field.setAccessible(true);
+						
+						final MethodHandle setter = lookup.unreflectSetter(field);
+						properties.add(Property.of(field.getName(), properties.size(), field.getGenericType(), setter.asType(MethodType.methodType(void.class, Object.class, field.getType().isPrimitive() ? field.getType() : Object.class))));
+					}
+				}
+				final Constructor<T> empty = type.getDeclaredConstructor();
+				empty.setAccessible(true);
+				
+				this.constructor = lookup.unreflectConstructor(empty).asType(MethodType.methodType(Object.class));
+				this.defaults = null;
+			}
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("The type " + type.getName() + " cannot be bound, it has no constructor without parameters!", e);
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("The type " + type.getName() + " cannot be bound!", e);
+		}
+		this.record = type.isRecord();
+		this.properties = properties.toArray(new Property[0]);
+		this.names = new JSONProjection(properties.stream().map(property -> property.name).toArray(String[]::new));
+	}
+	
+	/**
+	 * Returns the binder of {@code type}, its plan is only built the first time the binder of the type is requested.
+	 * 
+	 * @param <T> the type the JSON objects are bound to.
+	 * @param type - the class or the record the JSON objects are bound to.
+	 * @return the cached {@link JSONBinder} of {@code type}.
+	 * @throws IllegalArgumentException if {@code type} cannot be bound.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> JSONBinder<T> of(final Class<T> type) {
+		return (JSONBinder<T>) BINDERS.get(type);
+	}
+	
+	/**
+	 * Binds a JSON object read from an object implementing {@link CharSequence} to a new instance of {@code type}.
+	 * 
+	 * @param <T> the type the JSON object is bound to.
+	 * @param json - the sequence of characters that will be read.
+	 * @param type - the class or the record the JSON object is bound to.
+	 * @return the new instance of {@code type}.
+	 * @throws JSONParseException if the text could not be parsed or a value could not be decoded to the type of its property.
+	 * @throws IllegalArgumentException if {@code type} cannot be bound.
+	 * 
+	 * @see JSONBinder#of(Class)
+	 */
+	public static <T> T bind(final CharSequence json, final Class<T> type) {
+		return JSONBinder.of(type).bind(json);
+	}
+	
+	/**
+	 * Binds a JSON object read from an object implementing {@link CharSequence}, the characters are read in place.
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return the new instance the JSON object was bound to.
+	 * @throws JSONParseException if the text could not be parsed or a value could not be decoded to the type of its property.
+	 */
+	public T bind(final CharSequence json) {
+		return this.bind(json, 0, json.length());
+	}
+	
+	/**
+	 * Binds a JSON object read from UTF-8 encoded bytes, only the strings are decoded.
+	 * 
+	 * @param json - the bytes that will be read.
+	 * @return the new instance the JSON object was bound to.
+	 * @throws JSONParseException if the bytes could not be parsed or a value could not be decoded to the type of its property.
+	 */
+	public T bind(final byte[] json) {
+		return this.bind(new UTF8Sequence(json));
+	}
+	
+	/**
+	 * Binds a JSON object read from a UTF-8 encoded file, the file is mapped to memory the same way as by {@link JSONParser#parseObject(Path)}.
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return the new instance the JSON object was bound to.
+	 * @throws JSONParseException if the file was not found, is larger than {@link Integer#MAX_VALUE} bytes or could not be parsed.
+	 */
+	public T bind(final Path path) {
+		return this.bind(JSONParser.map(path));
+	}
+	
+	/**
+	 * Binds the JSON object of {@code json} from bounds {@code lower} to {@code upper}.
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @param lower - the lower bound of {@code json}.
+	 * @param upper - the upper bound of {@code json}.
+	 * @return the new instance the JSON object was bound to.
+	 * @throws JSONParseException if the text could not be parsed or a value could not be decoded to the type of its property.
+	 */
+	@SuppressWarnings("unchecked")
+	public T bind(final CharSequence json, final int lower, final int upper) {
+		final int readable = upper - 1; // The maximum index that can be read from.
+		int i = JSONParser.skipWhitespace(json, lower, readable);
+		
+		if (i > readable || json.charAt(i) != '{') {
+			throw new JSONParseException("There was no JSON object found in the input json from bounds " + lower + " to " + upper + '!');
+		}
+		final Object[] arguments = this.record ? this.defaults.clone() : null;
+		final Object instance;
+		
+		try {
+			instance = this.record ? null : (Object) this.constructor.invokeExact();
+		} catch (Throwable e) {
+			throw new JSONParseException("An instance of " + this.type.getName() + " could not be created!", e);
+		}
+		final boolean encoded = json instanceof UTF8Sequence;
+		int expected = 0; // The property that is expected to be named next.
+		
+		i = JSONParser.skipWhitespace(json, i + 1, readable);
+		
+		// The JSON object is empty.
+		if (i <= readable && json.charAt(i) == '}') {
+			return this.record ? this.create(arguments) : (T) instance;
+		}
+		while (true) {
+			if (i > readable || json.charAt(i) != '"') {
+				throw new JSONParseException("Expected the name of a value at index " + i + '!');
+			}
+			final int nameLower = i + 1, nameUpper = JSONParser.skipString(json, i, readable) - 1;
+			
+			i = JSONParser.skipWhitespace(json, nameUpper + 1, readable);
+			
+			if (i > readable || json.charAt(i) != ':') {
+				throw new JSONParseException("Expected a colon (':') after the name at index " + nameLower + '!');
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			final int start = i, end = JSONParser.skipValue(json, i, readable);
+			
+			// The names usually follow the order of the properties, so the expected one is compared before the name is looked up.
+			final int property = expected < this.properties.length && this.properties[expected].matches(json, nameLower, nameUpper, encoded)
+					? expected : this.indexOf(json, nameLower, nameUpper);
+			
+			if (property != -1) {
+				if (this.record) {
+					arguments[property] = this.decode(this.properties[property], json, start, end);
+				} else {
+					this.set(instance, this.properties[property], json, start, end);
+				}
+				expected = property + 1;
+			}
+			i = JSONParser.skipWhitespace(json, end, readable);
+			
+			final char read;
+			
+			if (i > readable || (read = json.charAt(i)) != ',' && read != '}') {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			if (read == '}') {
+				break;
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+		}
+		return this.record ? this.create(arguments) : (T) instance;
+	}
+	
+	/**
+	 * @return the class or the record the JSON objects are bound to.
+	 */
+	public Class<T> getType() {
+		return this.type;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private T create(final Object[] arguments) {
+		try {
+			return (T) (Object) this.constructor.invokeExact(arguments);
+		} catch (Throwable e) {
+			throw new JSONParseException("An instance of " + this.type.getName() + " could not be created!", e);
+		}
+	}
+	
+	// Look up the property of the name from bounds lower to upper, -1 if the name is not a property.
+	private int indexOf(final CharSequence json, final int lower, final int upper) {
+		for (int i = lower; i < upper; ++i) {
+			// An escaped name is only looked up once it is unescaped, which is rare enough to materialize it.
+			if (json.charAt(i) == '\\') {
+				final String name = JSONValue.getAsString(json, lower, upper);
+				return this.names.indexOf(name, 0, name.length(), name.hashCode());
+			}
+		}
+		return this.names.indexOf(json, lower, upper, JSONUtils.hash(json, lower, upper));
+	}
+	
+	// Decode the value from bounds lower to upper and set it to the field of the property, primitives are set without being boxed.
+	private void set(final Object instance, final Property property, final CharSequence json, final int lower, final int upper) {
+		try {
+			if (!property.primitive) {
+				property.setter.invokeExact(instance, this.decode(property, json, lower, upper));
+				return;
+			}
+			// A null value leaves the default value of a primitive.
+			if (JSONBinder.isNull(json, lower, upper)) {
+				return;
+			}
+			switch (property.kind) {
+				case KIND_BOOLEAN: {
+					property.setter.invokeExact(instance, JSONBinder.decodeBoolean(json, lower, upper));
+					break;
+				}
+				case KIND_BYTE: {
+					property.setter.invokeExact(instance, (byte) JSONBinder.decodeInt(json, lower, upper, Byte.MIN_VALUE, Byte.MAX_VALUE));
+					break;
+				}
+				case KIND_SHORT: {
+					property.setter.invokeExact(instance, (short) JSONBinder.decodeInt(json, lower, upper, Short.MIN_VALUE, Short.MAX_VALUE));
+					break;
+				}
+				case KIND_CHARACTER: {
+					property.setter.invokeExact(instance, JSONBinder.decodeCharacter(json, lower, upper));
+					break;
+				}
+				case KIND_INT: {
+					property.setter.invokeExact(instance, JSONBinder.decodeInt(json, lower, upper, Integer.MIN_VALUE, Integer.MAX_VALUE));
+					break;
+				}
+				case KIND_LONG: {
+					property.setter.invokeExact(instance, JSONBinder.decodeLong(json, lower, upper));
+					break;
+				}
+				case KIND_FLOAT: {
+					property.setter.invokeExact(instance, JSONNumbers.parseFloat(json, lower, upper));
+					break;
+				}
+				default: {
+					property.setter.invokeExact(instance, JSONNumbers.parseDouble(json, lower, upper));
+					break;
+				}
+			}
+		} catch (JSONParseException e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new JSONParseException("The value of " + property.name + " could not be bound to " + this.type.getName() + '!', e);
+		}
+	}
+	
+	// Decode the value from bounds lower to upper as an object of the type of the property.
+	private Object decode(final Property property, final CharSequence json, final int lower, final int upper) {
+		if (JSONBinder.isNull(json, lower, upper)) {
+			return property.primitive ? this.defaults[property.index] : null;
+		}
+		try {
+			switch (property.kind) {
+				case KIND_BOOLEAN: {
+					return JSONBinder.decodeBoolean(json, lower, upper);
+				}
+				case KIND_BYTE: {
+					return (byte) JSONBinder.decodeInt(json, lower, upper, Byte.MIN_VALUE, Byte.MAX_VALUE);
+				}
+				case KIND_SHORT: {
+					return (short) JSONBinder.decodeInt(json, lower, upper, Short.MIN_VALUE, Short.MAX_VALUE);
+				}
+				case KIND_CHARACTER: {
+					return JSONBinder.decodeCharacter(json, lower, upper);
+				}
+				case KIND_INT: {
+					return JSONBinder.decodeInt(json, lower, upper, Integer.MIN_VALUE, Integer.MAX_VALUE);
+				}
+				case KIND_LONG: {
+					return JSONBinder.decodeLong(json, lower, upper);
+				}
+				case KIND_FLOAT: {
+					return JSONNumbers.parseFloat(json, lower, upper);
+				}
+				case KIND_DOUBLE: {
+					return JSONNumbers.parseDouble(json, lower, upper);
+				}
+				case KIND_STRING: {
+					return JSONValue.getAsString(json, lower, upper);
+				}
+				case KIND_UUID: {
+					return UUID.fromString(JSONValue.getAsString(json, lower, upper));
+				}
+				case KIND_ENUM: {
+					for (final Enum<?> constant : property.constants) {
+						if (JSONValue.contentEquals(json, lower, upper, constant.name())) {
+							return constant;
+						}
+					}
+					throw new IllegalArgumentException("There is no constant " + json.subSequence(lower, upper) + " of " + property.type.getName() + '!');
+				}
+				case KIND_VALUE: {
+					return new JSONValue(json, lower, upper);
+				}
+				case KIND_OBJECT: {
+					return new JSONValue(json, lower, upper).getAsJSONObject();
+				}
+				case KIND_ARRAY: {
+					return new JSONValue(json, lower, upper).getAsJSONArray();
+				}
+				case KIND_LIST: {
+					return this.decodeList(property.element, json, lower, upper);
+				}
+				default: {
+					return JSONBinder.of(property.type).bind(json, lower, upper);
+				}
+			}
+		} catch (JSONParseException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new JSONParseException("The value of " + property.name + " could not be bound to " + this.type.getName() + '!', e);
+		}
+	}
+	
+	// Decode the elements of the JSON array from bounds lower to upper as objects of the type of element.
+	private List<Object> decodeList(final Property element, final CharSequence json, final int lower, final int upper) {
+		final List<Object> list = new ArrayList<>();
+		final int readable = upper - 1;
+		
+		if (json.charAt(lower) != '[') {
+			throw new JSONParseException("There was no JSON array found in the input json from bounds " + lower + " to " + upper + '!');
+		}
+		int i = JSONParser.skipWhitespace(json, lower + 1, readable);
+		
+		// The JSON array is empty.
+		if (i <= readable && json.charAt(i) == ']') {
+			return list;
+		}
+		while (true) {
+			if (i > readable) {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+			final int end = JSONParser.skipValue(json, i, readable);
+			
+			list.add(this.decode(element, json, i, end));
+			i = JSONParser.skipWhitespace(json, end, readable);
+			
+			final char read;
+			
+			if (i > readable || (read = json.charAt(i)) != ',' && read != ']') {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+			if (read == ']') {
+				return list;
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+		}
+	}
+	
+	private static boolean isNull(final CharSequence json, final int lower, final int upper) {
+		return upper - lower == 4 && json.charAt(lower) == 'n' && json.charAt(lower + 1) == 'u' && json.charAt(lower + 2) == 'l' && json.charAt(lower + 3) == 'l';
+	}
+	
+	private static boolean decodeBoolean(final CharSequence json, final int lower, final int upper) {
+		if (upper - lower == 4 && json.charAt(lower) == 't' && json.charAt(lower + 1) == 'r' && json.charAt(lower + 2) == 'u' && json.charAt(lower + 3) == 'e') {
+			return true;
+		}
+		if (upper - lower == 5 && json.charAt(lower) == 'f' && json.charAt(lower + 1) == 'a' && json.charAt(lower + 2) == 'l' && json.charAt(lower + 3) == 's' && json.charAt(lower + 4) == 'e') {
+			return false;
+		}
+		throw new IllegalArgumentException(json.subSequence(lower, upper) + " is not a boolean!");
+	}
+	
+	// Decode the first character of the content of a value, an escaped character is unescaped first.
+	private static char decodeCharacter(final CharSequence json, final int lower, final int upper) {
+		final int content = json.charAt(lower) == '"' ? lower + 1 : lower;
+		final char read = json.charAt(content);
+		
+		return read == '\\' || read >= 0x80 && json instanceof UTF8Sequence ? JSONValue.getAsString(json, lower, upper).charAt(0) : read;
+	}
+	
+	private static int decodeInt(final CharSequence json, final int lower, final int upper, final int minimum, final int maximum) {
+		final int value = Integer.parseInt(json, lower, upper, 10);
+		
+		if (value < minimum || value > maximum) {
+			throw new NumberFormatException("Value out of range. Value:\"" + json.subSequence(lower, upper) + "\"");
+		}
+		return value;
+	}
+	
+	private static long decodeLong(final CharSequence json, final int lower, final int upper) {
+		return Long.parseLong(json, lower, upper, 10);
+	}
+	
+	// A property of a type, or the element of a list property, which has no name.
+	private static final class Property {
+		private final String name, encodedName;
+		private final int index; // The position of the property in the properties of its type, -1 for the element of a list.
+		private final int kind;
+		private final boolean primitive;
+		private final Class<?> type;
+		private final Enum<?>[] constants; // The constants of an enum, null for the other kinds. Class#getEnumConstants() clones them on every call.
+		private final Property element;
+		private final MethodHandle setter; // The setter of the field, null if the property is a component of a record.
+		
+		private Property(final String name, final int index, final int kind, final Class<?> type, final Property element, final MethodHandle setter) {
+			this.name = name;
+			this.encodedName = name == null ? null : UTF8Sequence.encode(name);
+			this.index = index;
+			this.kind = kind;
+			this.primitive = type.isPrimitive();
+			this.type = type;
+			this.constants = kind == KIND_ENUM ? (Enum<?>[]) type.getEnumConstants() : null;
+			this.element = element;
+			this.setter = setter;
+		}
+		
+		static Property of(final String name, final int index, final Type generic, final MethodHandle setter) {
+			final Class<?> type = generic instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) generic).getRawType() : generic instanceof Class ? (Class<?>) generic : Object.class;
+			
+			if (type == List.class || type == Iterable.class || type == Collection.class) {
+				// The elements of a list whose type is unknown are kept as values.
+				final Type argument = generic instanceof ParameterizedType ? ((ParameterizedType) generic).getActualTypeArguments()[0] : JSONValue.class;
+				return new Property(name, index, KIND_LIST, type, Property.of(null, -1, argument instanceof Class || argument instanceof ParameterizedType ? argument : JSONValue.class, null), setter);
+			}
+			return new Property(name, index, Property.kind(type), type, null, setter);
+		}
+		
+		private static int kind(final Class<?> type) {
+			if (type == boolean.class || type == Boolean.class) {
+				return KIND_BOOLEAN;
+			} else if (type == byte.class || type == Byte.class) {
+				return KIND_BYTE;
+			} else if (type == short.class || type == Short.class) {
+				return KIND_SHORT;
+			} else if (type == char.class || type == Character.class) {
+				return KIND_CHARACTER;
+			} else if (type == int.class || type == Integer.class) {
+				return KIND_INT;
+			} else if (type == long.class || type == Long.class) {
+				return KIND_LONG;
+			} else if (type == float.class || type == Float.class) {
+				return KIND_FLOAT;
+			} else if (type == double.class || type == Double.class) {
+				return KIND_DOUBLE;
+			} else if (type == String.class || type == CharSequence.class) {
+				return KIND_STRING;
+			} else if (type == UUID.class) {
+				return KIND_UUID;
+			} else if (type.isEnum()) {
+				return KIND_ENUM;
+			} else if (type == JSONValue.class || type == Object.class) {
+				return KIND_VALUE;
+			} else if (type == JSONObject.class) {
+				return KIND_OBJECT;
+			} else if (type == JSONArray.class) {
+				return KIND_ARRAY;
+			}
+			return KIND_BOUND;
+		}
+		
+		// Compare the name of this property with the name from bounds lower to upper.
+		boolean matches(final CharSequence json, final int lower, final int upper, final boolean encoded) {
+			final String name = encoded ? this.encodedName : this.name;
+			
+			if (name.length() != upper - lower) {
+				return false;
+			}
+			for (int i = lower; i < upper; ++i) {
+				if (name.charAt(i - lower) != json.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package org.lightweight.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.exceptions.JSONParseException;
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * Parses newline-delimited JSON (JSON Lines), where every line holds a JSON object.
+ * <p>The input is split into chunks that start and end at the start of a line, and the chunks are parsed
+ * in parallel on the common {@link java.util.concurrent.ForkJoinPool}. The parsed objects are returned in the order of their lines,
+ * lines that only contain whitespace characters are skipped.</p>
+ * 
+ * @see JSONLinesWriter
+ */
+public class JSONLines {
+	// The minimum size of a chunk, smaller chunks are not worth being parsed in parallel.
+	private static final int MIN_CHUNK = 1 << 16;
+	
+	// The maximum size of a mapped chunk of a file, which has to be below Integer.MAX_VALUE to leave room for the line it ends in.
+	private static final long MAX_CHUNK = 1L << 30;
+	
+	/**
+	 * Parses every line of an object implementing {@link CharSequence} as {@link JSONObject}.
+	 * <p>The characters are copied to a {@link String} at most once, which is shared by all of the parsed objects.</p>
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return {@link List} of the {@link JSONObject}s that were parsed, in the order of their lines.
+	 * @throws JSONParseException if a line could not be parsed.
+	 */
+	public static List<JSONObject> parse(final CharSequence json) {
+		final String string = json.toString();
+		final int[] bounds = JSONLines.split(string, JSONLines.chunks(string.length()));
+		
+		return IntStream.range(0, bounds.length - 1).parallel()
+				.mapToObj(chunk -> JSONLines.parse(string, bounds[chunk], bounds[chunk + 1], () -> new JSONObject(string)))
+				.flatMap(List::stream)
+				.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Parses every line of a UTF-8 encoded file as {@link JSONObject}.
+	 * <p>The file is mapped to memory chunk by chunk, each chunk is read in place and shared by the objects parsed from its lines.
+	 * The size of the file is therefore not limited, only the size of a single line is.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return {@link List} of the {@link JSONObject}s that were parsed, in the order of their lines.
+	 * @throws JSONParseException if the file was not found or a line could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static List<JSONObject> parse(final Path path) {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			final int chunks = (int) Math.max(JSONLines.chunks(size), (size + MAX_CHUNK - 1) / MAX_CHUNK);
+			
+			// Move the nominal bounds of the chunks to the start of the next line.
+			final long[] bounds = new long[chunks + 1];
+			final ByteBuffer buffer = ByteBuffer.allocate(4096);
+			
+			for (int chunk = 1; chunk < chunks; ++chunk) {
+				bounds[chunk] = JSONLines.nextLine(channel, buffer, Math.max(bounds[chunk - 1], size / chunks * chunk), size);
+			}
+			bounds[chunks] = size;
+			
+			return IntStream.range(0, chunks).parallel()
+					.mapToObj(chunk -> {
+						final long length = bounds[chunk + 1] - bounds[chunk];
+						
+						if (length > Integer.MAX_VALUE) {
+							throw new JSONParseException("A line of the file " + path.getFileName() + " is longer than " + (Integer.MAX_VALUE - MAX_CHUNK) + " bytes!");
+						}
+						try {
+							final UTF8Sequence json = new UTF8Sequence(channel.map(MapMode.READ_ONLY, bounds[chunk], length));
+							return JSONLines.parse(json, 0, json.length(), () -> new JSONObject(json));
+						} catch (IOException e) {
+							throw new JSONParseException("The file could not be parsed!", e);
+						}
+					})
+					.flatMap(List::stream)
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new JSONParseException("The file could not be parsed!", e);
+		}
+	}
+	
+	// Parse the lines from bounds lower to upper, lower is the start of a line and upper is the end of one.
+	private static List<JSONObject> parse(final CharSequence json, final int lower, final int upper, final Supplier<JSONObject> supplier) {
+		final List<JSONObject> objects = new ArrayList<>();
+		
+		for (int start = lower; start < upper;) {
+			int end = start;
+			
+			while (end < upper && json.charAt(end) != '\n') {
+				++end;
+			}
+			final int next = end + 1;
+			
+			// Trim the whitespace characters around the object, including the carriage return of CRLF line endings.
+			while (start < end && JSONUtils.isWhitespace(json.charAt(start))) {
+				++start;
+			}
+			while (end > start && JSONUtils.isWhitespace(json.charAt(end - 1))) {
+				--end;
+			}
+			if (start != end) {
+				objects.add(JSONParser.parseObject(supplier.get(), start, end, false));
+			}
+			start = next;
+		}
+		return objects;
+	}
+	
+	// Split json into chunks that start at the start of a line, return the bounds of the chunks.
+	private static int[] split(final CharSequence json, final int chunks) {
+		final int length = json.length();
+		final int[] bounds = new int[chunks + 1];
+		
+		for (int chunk = 1; chunk < chunks; ++chunk) {
+			int bound = Math.max(bounds[chunk - 1], (int) ((long) length * chunk / chunks));
+			
+			while (bound < length && json.charAt(bound++) != '\n') {
+				continue;
+			}
+			bounds[chunk] = bound;
+		}
+		bounds[chunks] = length;
+		
+		return bounds;
+	}
+	
+	// Return the position that follows the first newline at or after position, or size if there is none.
+	private static long nextLine(final FileChannel channel, final ByteBuffer buffer, long position, final long size) throws IOException {
+		while (position < size) {
+			buffer.clear();
+			
+			final int read = channel.read(buffer, position);
+			
+			for (int i = 0; i < read; ++i) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+	
+	// The amount of chunks to split an input of length characters into, a few per worker so that uneven chunks even out.
+	private static int chunks(final long length) {
+		return (int) Math.max(1, Math.min(4L * Runtime.getRuntime().availableProcessors(), length / MIN_CHUNK));
+	}
+}
\ No newline at end of file
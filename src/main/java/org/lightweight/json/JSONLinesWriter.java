@@ -0,0 +1,76 @@
+package org.lightweight.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.lightweight.json.components.JSONComponent;
+import org.lightweight.json.components.JSONComponent.ByteSink;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * Writes components as newline-delimited JSON (JSON Lines), one component per line encoded as UTF-8.
+ * <p>Every line is encoded by the same {@link ByteSink} straight into its reused buffer, so writing a line allocates nothing.
+ * The values of a component backed by a {@link UTF8Sequence} are copied as bytes, without being decoded and encoded again.
+ * The buffer is written to the stream once it is full, when the writer is flushed or when it is closed.</p>
+ * 
+ * @see JSONLines
+ */
+public class JSONLinesWriter implements Closeable, Flushable {
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	private final OutputStream stream;
+	private final ByteSink sink;
+	
+	public JSONLinesWriter(final OutputStream stream, final int bufferSize) {
+		this.stream = stream;
+		this.sink = new ByteSink(stream, bufferSize);
+	}
+	
+	public JSONLinesWriter(final OutputStream stream) {
+		this(stream, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Creates a writer that appends to a file, the file is created if it does not exist.
+	 * 
+	 * @param path - the path of the file that will be written to.
+	 * @throws IOException if the file could not be opened.
+	 */
+	public JSONLinesWriter(final Path path) throws IOException {
+		this(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+	}
+	
+	/**
+	 * Writes {@code component} as a line.
+	 * 
+	 * @param component - the component that will be written.
+	 * @return this writer.
+	 * @throws IOException if the line could not be written.
+	 */
+	public JSONLinesWriter write(final JSONComponent component) throws IOException {
+		component.writeTo(this.sink);
+		this.sink.write('\n');
+		
+		return this;
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		this.sink.drain();
+		this.stream.flush();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			this.sink.drain();
+		} finally {
+			this.stream.close();
+		}
+	}
+}
\ No newline at end of file
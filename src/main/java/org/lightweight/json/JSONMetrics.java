@@ -0,0 +1,184 @@
+package org.lightweight.json;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link JSONParseListener} that sums up the parses it is told about, for services that need to know what their JSON handling costs.
+ * <p>The latencies of the parses are counted in a histogram of buckets that are each twice as wide as the one before, bucket
+ * {@code b} counts the parses that took from {@code 2^(b - 1)} up to {@code 2^b - 1} nanoseconds. The metrics may be updated and
+ * read by several threads at once, a read taken while parses are reported may include only part of a parse.</p>
+ * 
+ * <pre>
+ * JSONMetrics metrics = new JSONMetrics();
+ * JSONParser.Context context = new JSONParser.Context().setListener(metrics);
+ * ...
+ * long p99 = metrics.getLatencyPercentile(0.99);
+ * </pre>
+ */
+public class JSONMetrics implements JSONParseListener {
+	// The amount of buckets of the histogram, one for every bit length of a latency that is not negative.
+	private static final int BUCKETS = Long.SIZE;
+	
+	private final LongAdder objects = new LongAdder(), arrays = new LongAdder(), tapes = new LongAdder(), rescans = new LongAdder();
+	private final LongAdder length = new LongAdder(), values = new LongAdder(), nanos = new LongAdder();
+	private final LongAccumulator depth = new LongAccumulator(Math::max, 0);
+	private final LongAdder[] latencies = new LongAdder[BUCKETS];
+	
+	public JSONMetrics() {
+		for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+			this.latencies[bucket] = new LongAdder();
+		}
+	}
+	
+	@Override
+	public void parsed(final Kind kind, final boolean nested, final int length, final int values, final int depth, final long nanos) {
+		switch (kind) {
+			case OBJECT: {
+				this.objects.increment();
+				break;
+			}
+			case ARRAY: {
+				this.arrays.increment();
+				break;
+			}
+			case TAPE: {
+				this.tapes.increment();
+				break;
+			}
+		}
+		if (nested) {
+			this.rescans.increment();
+		}
+		this.length.add(length);
+		this.values.add(values);
+		this.depth.accumulate(depth);
+		this.nanos.add(nanos);
+		
+		// The bucket of a latency is its bit length, a latency is never negative unless the clock misbehaves.
+		this.latencies[BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+	}
+	
+	/**
+	 * @return the amount of parses, of every kind.
+	 */
+	public long getParses() {
+		return this.objects.sum() + this.arrays.sum() + this.tapes.sum();
+	}
+	
+	/**
+	 * @return the amount of JSON objects that were parsed, including the nested JSON objects that were navigated to.
+	 */
+	public long getObjects() {
+		return this.objects.sum();
+	}
+	
+	/**
+	 * @return the amount of JSON arrays that were parsed, including the nested JSON arrays that were navigated to.
+	 */
+	public long getArrays() {
+		return this.arrays.sum();
+	}
+	
+	/**
+	 * @return the amount of documents that were indexed into tapes.
+	 */
+	public long getTapes() {
+		return this.tapes.sum();
+	}
+	
+	/**
+	 * @return the amount of parses of characters that were already read by the parse of an enclosing component.
+	 */
+	public long getRescans() {
+		return this.rescans.sum();
+	}
+	
+	/**
+	 * @return the total length of the bounds that were parsed, characters that were parsed again are counted again.
+	 */
+	public long getLength() {
+		return this.length.sum();
+	}
+	
+	/**
+	 * @return the total amount of values that were placed and entries that were indexed.
+	 */
+	public long getValues() {
+		return this.values.sum();
+	}
+	
+	/**
+	 * @return the maximum depth of the JSON structures that were parsed.
+	 */
+	public int getMaxDepth() {
+		return (int) this.depth.get();
+	}
+	
+	/**
+	 * @return the total time of the parses in nanoseconds.
+	 */
+	public long getNanos() {
+		return this.nanos.sum();
+	}
+	
+	/**
+	 * @return the amount of parses of every bucket of the histogram of latencies.
+	 */
+	public long[] getLatencyHistogram() {
+		final long[] histogram = new long[BUCKETS];
+		
+		for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+			histogram[bucket] = this.latencies[bucket].sum();
+		}
+		return histogram;
+	}
+	
+	/**
+	 * Returns an upper bound of the latency of the given fraction of the parses, accurate up to a factor of two.
+	 * 
+	 * @param percentile - the fraction of the parses, from 0 to 1.
+	 * @return the upper bound in nanoseconds of the bucket the percentile falls into, 0 if there were no parses.
+	 * @throws IllegalArgumentException if {@code percentile} is not from 0 to 1.
+	 */
+	public long getLatencyPercentile(final double percentile) {
+		if (!(percentile >= 0 && percentile <= 1)) {
+			throw new IllegalArgumentException("The percentile must be from 0 to 1!");
+		}
+		final long[] histogram = this.getLatencyHistogram();
+		long parses = 0;
+		
+		for (final long count : histogram) {
+			parses += count;
+		}
+		final long rank = (long) Math.ceil(percentile * parses);
+		long seen = 0;
+		
+		for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+			seen += histogram[bucket];
+			
+			if (seen >= rank && seen > 0) {
+				return (1L << bucket) - 1;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Resets every metric to zero, parses reported while resetting may be partly counted.
+	 */
+	public void reset() {
+		this.objects.reset();
+		this.arrays.reset();
+		this.tapes.reset();
+		this.rescans.reset();
+		this.length.reset();
+		this.values.reset();
+		this.depth.reset();
+		this.nanos.reset();
+		
+		for (final LongAdder latency : this.latencies) {
+			latency.reset();
+		}
+	}
+}
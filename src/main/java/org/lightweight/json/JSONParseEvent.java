@@ -0,0 +1,68 @@
+package org.lightweight.json;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A JDK Flight Recorder event of a parse of {@link JSONParser}, so the cost of parsing can be correlated with garbage collections
+ * and other events of a recording.
+ * <p>The events are committed by {@link JSONParseEvent#LISTENER} once it is registered, either for a single context through
+ * {@link JSONParser.Context#setListener(JSONParseListener)} or for the whole process through {@link JSONParser#setListener(JSONParseListener)},
+ * and are recorded while the event {@code org.lightweight.json.Parse} is enabled in the recording. An event is committed when the
+ * parse has ended, its start time is therefore the end of the parse and the time the parse took is its field {@code nanos}.</p>
+ */
+@Name("org.lightweight.json.Parse")
+@Label("JSON Parse")
+@Category({ "Lightweight JSON" })
+@Description("A JSON object, JSON array or tape that was parsed")
+@StackTrace(false)
+public class JSONParseEvent extends Event {
+	/**
+	 * The listener that commits an event for every parse, only measured while the event is enabled.
+	 */
+	public static final JSONParseListener LISTENER = (kind, nested, length, values, depth, nanos) -> {
+		final JSONParseEvent event = new JSONParseEvent();
+		
+		if (event.isEnabled()) {
+			event.kind = kind.name();
+			event.nested = nested;
+			event.length = length;
+			event.values = values;
+			event.depth = depth;
+			event.nanos = nanos;
+			event.commit();
+		}
+	};
+	
+	@Label("Kind")
+	@Description("What was parsed, either OBJECT, ARRAY or TAPE")
+	String kind;
+	
+	@Label("Nested")
+	@Description("Whether the characters were already read by the parse of an enclosing component")
+	boolean nested;
+	
+	@Label("Length")
+	@Description("The length of the bounds that were parsed")
+	@DataAmount(DataAmount.BYTES)
+	int length;
+	
+	@Label("Values")
+	@Description("The amount of values that were placed or entries that were indexed")
+	int values;
+	
+	@Label("Depth")
+	@Description("The maximum depth of the JSON structures that were parsed")
+	int depth;
+	
+	@Label("Parse Time")
+	@Description("The time the parse took")
+	@Timespan(Timespan.NANOSECONDS)
+	long nanos;
+}
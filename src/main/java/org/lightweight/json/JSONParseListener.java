@@ -0,0 +1,58 @@
+package org.lightweight.json;
+
+/**
+ * Receives a report of the parses of {@link JSONParser}, either of the parses of a single {@link JSONParser.Context} registered through
+ * {@link JSONParser.Context#setListener(JSONParseListener)}, or of every other parse of the process registered through {@link JSONParser#setListener(JSONParseListener)}.
+ * <p>A parse is only reported once it has succeeded, parses that throw are not reported. The listener is called on the thread
+ * that parsed, by several threads at once if several threads parse, and must therefore be thread-safe. While no listener is
+ * registered, the parser neither measures nor reports anything.</p>
+ * 
+ * @see JSONMetrics
+ * @see JSONParseEvent#LISTENER
+ */
+@FunctionalInterface
+public interface JSONParseListener {
+	/**
+	 * What was parsed.
+	 */
+	enum Kind {
+		/**
+		 * The values of a JSON object were placed into a {@link org.lightweight.json.components.JSONObject}.
+		 */
+		OBJECT,
+		/**
+		 * The elements of a JSON array were placed into a {@link org.lightweight.json.components.JSONArray}.
+		 */
+		ARRAY,
+		/**
+		 * Every value of a document was indexed into a {@link JSONTape}.
+		 */
+		TAPE
+	}
+	
+	/**
+	 * Called after a successful parse.
+	 * 
+	 * @param kind - what was parsed.
+	 * @param nested - whether the characters were already read by the parse of an enclosing component, which is the case when a
+	 * nested JSON object or JSON array is navigated to through {@link org.lightweight.json.components.JSONValue#getAsJSONObject()}
+	 * or {@link org.lightweight.json.components.JSONValue#getAsJSONArray()}.
+	 * @param length - the length of the bounds that were parsed, in bytes if the characters are UTF-8 encoded bytes.
+	 * @param values - the amount of values that were placed, or the amount of entries of a tape.
+	 * @param depth - the maximum depth of the JSON structures that were parsed, 1 for a JSON object or JSON array of which only
+	 * the outermost level is parsed.
+	 * @param nanos - the time the parse took in nanoseconds.
+	 */
+	void parsed(Kind kind, boolean nested, int length, int values, int depth, long nanos);
+	
+	/**
+	 * @param other - the listener that is called after this listener.
+	 * @return a listener that calls this listener and then {@code other}.
+	 */
+	default JSONParseListener andThen(final JSONParseListener other) {
+		return (kind, nested, length, values, depth, nanos) -> {
+			this.parsed(kind, nested, length, values, depth, nanos);
+			other.parsed(kind, nested, length, values, depth, nanos);
+		};
+	}
+}
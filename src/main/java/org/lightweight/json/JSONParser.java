@@ -1,16 +1,64 @@
 package org.lightweight.json;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONCache;
+import org.lightweight.json.components.JSONComponent;
 import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.components.JSONValue;
 import org.lightweight.json.exceptions.JSONParseException;
 import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.SymbolTable;
+import org.lightweight.json.utils.UTF8Sequence;
 
 public class JSONParser {
+	// The minimum size of a chunk of a JSON array parsed in parallel, smaller chunks are not worth being parsed in parallel.
+	private static final int PARALLEL_CHUNK = 1 << 16;
+	
+	// The listener of the whole process, only used by the parses that were not given a listener of their own.
+	private static volatile JSONParseListener listener;
+	
+	/**
+	 * @return the listener of the whole process, null if there is none.
+	 */
+	public static JSONParseListener getListener() {
+		return JSONParser.listener;
+	}
+	
+	/**
+	 * Registers the listener of the whole process, replacing the one that was registered before. There is none unless it is registered.
+	 * <p>The listener of the whole process is a fallback, it is told about every parse that was not given a listener of its own
+	 * through {@link Context#setListener(JSONParseListener)}, by any caller. Parses are only measured while there is a listener,
+	 * without one the parser does nothing more than reading a field per parse.</p>
+	 * 
+	 * @param listener - the listener the parses without a listener of their own are reported to, null to report nothing.
+	 * 
+	 * @see JSONMetrics
+	 * @see JSONParseEvent#LISTENER
+	 */
+	public static void setListener(final JSONParseListener listener) {
+		JSONParser.listener = listener;
+	}
+	
 	/**
 	 * Parses an object implementing {@link CharSequence} as either {@link JSONObject} or {@link JSONArray}.
 	 * <p>This method is slower compared to calling either {@link JSONParser#parseObject(CharSequence)} or 
@@ -41,7 +89,51 @@ public class JSONParser {
 	 * @see JSONParser#parseObject(CharSequence)
 	 */
 	public static JSONObject parseObject(final CharSequence json, final int lower, final int upper) {
-		final JSONObject object = new JSONObject(json);
+		// Only the characters within the bounds are copied, the copy is then shared by every component navigated from the result.
+		final JSONObject object = new JSONObject();
+		object.getBuilder().append(json, lower, upper);
+		
+		return JSONParser.parseObject(object, 0, upper - lower, false);
+	}
+	
+	/**
+	 * Parses the characters of {@code object} from bounds {@code lower} to {@code upper} into {@code object}.
+	 * <p>No characters are copied, they are shared, which makes this method suitable for
+	 * navigating to a nested JSON object of an already parsed component.</p>
+	 * 
+	 * @param object - the {@link JSONObject} whose characters will be read and to which the values will be placed.
+	 * @param lower - the lower bound of the characters of {@code object}.
+	 * @param upper - the upper bound of the characters of {@code object}.
+	 * @return {@code object}.
+	 * @throws JSONParseException if the text could not be parsed.
+	 * 
+	 * @see JSONParser#parseObject(CharSequence, int, int)
+	 */
+	public static JSONObject parseObject(final JSONObject object, final int lower, final int upper) {
+		return JSONParser.parseObject(object, lower, upper, true);
+	}
+	
+	// Parse the characters of object into object and report the parse, nested tells whether the characters were already read by the parse of an enclosing component.
+	static JSONObject parseObject(final JSONObject object, final int lower, final int upper, final boolean nested) {
+		return JSONParser.parseObject(object, lower, upper, nested, JSONParser.listener);
+	}
+	
+	// Parse the characters of object into object and report the parse to listener, if there is one.
+	private static JSONObject parseObject(final JSONObject object, final int lower, final int upper, final boolean nested, final JSONParseListener listener) {
+		if (listener == null) {
+			return JSONParser.scanObject(object, lower, upper);
+		}
+		final int size = object.size();
+		final long start = System.nanoTime();
+		
+		JSONParser.scanObject(object, lower, upper);
+		listener.parsed(JSONParseListener.Kind.OBJECT, nested, upper - lower, object.size() - size, 1, System.nanoTime() - start);
+		return object;
+	}
+	
+	// Parse the characters of object into object.
+	private static JSONObject scanObject(final JSONObject object, final int lower, final int upper) {
+		final CharSequence json = object.getJSON();
 		
 		final int readable = upper - 1; // The maximum index that can be read from.
 		boolean open = false; // The JSON object has yet to be opened.
@@ -67,71 +159,52 @@ public class JSONParser {
 				}
 				// Encountered the start of the name of a JSON value.
 				case '"': {
-					final StringBuilder name = new StringBuilder();
+					// The name is not copied, only its bounds (without the quotes) and its hash code are stored.
+					final int nameLower = i + 1;
+					int hash = 0;
 					
-					// Read and append to name until a quote that closes the name is encountered.
-					do {
+					// The bounds are checked before every read, if the quote is the last character the input json is not a valid JSON object.
+					if (i == readable) {
+						throw new JSONParseException("Quotes ('\"') are not balanced!");
+					}
+					// Read until a quote that closes the name is encountered, hashing the name the same way as String#hashCode().
+					while (JSONUtils.shouldSkip(read, read = json.charAt(++i), json, i)) {
 						// If this operation has led i to be equal to readable, the input json is not a valid JSON object.
 						if (i == readable) {
 							throw new JSONParseException("Quotes ('\"') are not balanced!");
 						}
-					} while (JSONUtils.append(name, json.charAt(++i), json, i));
+						hash = 31 * hash + read;
+					}
+					final int nameUpper = i;
 					
+					// Skip the whitespace characters between the name and the colon, the same way as the other scans of this class do.
+					while (i < readable && JSONUtils.isWhitespace(json.charAt(i + 1))) {
+						++i;
+					}
 					++i; // Skip the colon (':') encountered after reading the name of the JSON value.
 					
 					// Skip all of the unnecessary whitespace characters.
 					do {
-						// If this operation has led i to be equal to readable, the input json is not a valid JSON object.
-						if (i == readable) {
+						// If this operation has led i to be equal to (or past, if the name ended the input) readable, the input json is not a valid JSON object.
+						if (i >= readable) {
 							throw new JSONParseException("Quotes ('\"') are not balanced!");
 						}
 					} while (JSONUtils.isWhitespace(json.charAt(++i)));
 					
-					// The bounds of the value associated with the name: [lower, upper + 1].
+					// The bounds of the value associated with the name: [start, end + 1].
 					// The one is added because CharSequence#subSequence(int, int) takes the upper bound and subtracts one from it .
-					final int[] value = new int[2];
+					final int start = i; // The value begins at index i.
+					final int end;
 					
 					// The value is a JSON array or JSON object.
 					if ((read = json.charAt(i)) == '[' || read == '{') {
-						value[0] = i; // The value begins at index i.
-						
-						// The difference of the integer values of a JSON structure's closing and opening characters is two.
-						final char opening = read, closing = (char) (opening + 2);
-						// Whatever is between the opening and closing characters does not matter right now, only the bounds of the value is needed.
-						// The value is initially one because of the character that was just read.
-						int balanced = 1;
-						
-						// Check if a name is being read so the opening or closing characters inside the name are not read.
-						boolean quoteOpen = false;
-						
-						// Read until a character closes the structure completely (will happen once balanced equals 0).
-						do {
-							// Check if a name is being read so the opening or closing characters inside the name are not read.
-							if ((read = json.charAt(++i)) == '"') {
-								int j = 0;
-								
-								do {
-									quoteOpen = !quoteOpen;
-								} while (json.charAt(i - ++j) == '\\');
-							}
-							// Check if the character read is either the opening or closing character for the given JSON structure.
-							if ((read == closing || read == opening) && !quoteOpen) {
-								// balanced = balanced - 1 + closing - read
-								// = balanced - 1 + (2 or 0, depends whether read is equal to closing or opening)
-								// = balanced - (1)
-								balanced = balanced - 1 + closing - read;
-							}
-							// If this operation has led i to be equal to readable, the input json is not a valid JSON array.
-							if (i == readable) {
-								throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
-							}
-						} while (balanced != 0);
-						
-						value[1] = i + 1; // The value ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
+						i = JSONParser.skipStructure(json, i, readable);
+						end = i + 1; // The value ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
 					// The value is a string.
 					} else if (read == '"') {
-						value[0] = i; // The value begins at index i.
-						
+						if (i == readable) {
+							throw new JSONParseException("Quotes ('\"') are not balanced!");
+						}
 						// Read until a quote that closes the value is encountered.
 						while (JSONUtils.shouldSkip(read, read = json.charAt(++i), json, i)) {
 							// If this operation has led i to be equal to readable, the input json is not a valid JSON object.
@@ -139,11 +212,12 @@ public class JSONParser {
 								throw new JSONParseException("Quotes ('\"') are not balanced!");
 							}
 						}
-						value[1] = i + 1; // The value ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
+						end = i + 1; // The value ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
 					// The value type is not specified.
 					} else {
-						value[0] = i; // The value begins at index i.
-						
+						if (i == readable) {
+							throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+						}
 						// Read until a comma (end of value, value coming after it) or a closing curly brace (end of value, end of object).
 						while ((read = json.charAt(++i)) != ',' && read != '}') {
 							// Check if a whitespace comes after the colon (for JSON files that are supposed to be easily readable for humans).
@@ -177,9 +251,9 @@ public class JSONParser {
 						}
 						// The value ends at index i - 1, but index i is stored because of CharSequence#subSequence(int, int).
 						// Currently, either ',' or '}' is at the index i.
-						value[1] = i;
+						end = i;
 					}
-					object.place(name.toString(), value); // set the value bounds corresponding to the given name in the object.
+					object.place(nameLower, nameUpper, hash, start, end); // set the value bounds corresponding to the given name in the object.
 					break;
 				}
 				// The character read was a whitespace character, do nothing.
@@ -208,127 +282,228 @@ public class JSONParser {
 		return JSONParser.parseObject(json, 0, json.length());
 	}
 	
+	/**
+	 * Parses UTF-8 encoded bytes from bounds {@code lower} to {@code upper} as {@link JSONObject}.
+	 * <p>The bytes are read directly, they are neither decoded nor copied. Only the values that are read as
+	 * strings are decoded, therefore the bytes must not be modified while the result is in use.</p>
+	 * 
+	 * @param json - the bytes that will be read.
+	 * @param lower - the lower bound of {@code json}.
+	 * @param upper - the upper bound of {@code json}.
+	 * @return {@link JSONObject} that was parsed from {@code json}.
+	 * @throws JSONParseException if the bytes could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static JSONObject parseObject(final byte[] json, final int lower, final int upper) {
+		return JSONParser.parseObject(new JSONObject(new UTF8Sequence(json, lower, upper)), 0, upper - lower, false);
+	}
+	
+	/**
+	 * Parses the UTF-8 encoded bytes of a {@link ByteBuffer} from its position to its limit as {@link JSONObject}.
+	 * <p>The bytes are read directly, they are neither decoded nor copied. Only the values that are read as
+	 * strings are decoded, therefore the bytes must not be modified while the result is in use.
+	 * The position of {@code json} is not changed.</p>
+	 * 
+	 * @param json - the buffer that will be read.
+	 * @return {@link JSONObject} that was parsed from {@code json}.
+	 * @throws JSONParseException if the bytes could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static JSONObject parseObject(final ByteBuffer json) {
+		return JSONParser.parseObject(new JSONObject(new UTF8Sequence(json)), 0, json.remaining(), false);
+	}
+	
 	/**
 	 * Parses a {@link File} as {@link JSONObject}.
 	 * 
 	 * @param file - the file that will be read.
 	 * @return {@link JSONObject} that was parsed from {@code file}.
 	 * @throws JSONParseException if the file was not found or could not be parsed.
+	 * 
+	 * @see JSONParser#parseObject(Path)
 	 */
 	public static JSONObject parseObject(final File file) {
-		final char[] buffer = new char[(int) file.length()];
-		final int size, readable;
+		return JSONParser.parseObject(file.toPath());
+	}
+	
+	/**
+	 * Parses a UTF-8 encoded file as {@link JSONObject}.
+	 * <p>The file is mapped to memory and read in place, it is neither copied to the heap nor decoded.
+	 * Only the values that are read as strings are decoded from the mapped bytes, the file stays mapped while the result is in use.</p>
+	 * <p>The whole document is mapped as a single buffer and the components keep {@code int} bounds into it, a file can therefore
+	 * not be larger than {@link Integer#MAX_VALUE} bytes (2 GB). A value of a larger file is selected with {@link JSONPath#evaluate(Path)},
+	 * which only maps the selected value, and a larger file of JSON lines is parsed with {@link JSONLines#parse(Path)}.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return {@link JSONObject} that was parsed from the file.
+	 * @throws JSONParseException if the file was not found, is larger than {@link Integer#MAX_VALUE} bytes or could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static JSONObject parseObject(final Path path) {
+		final UTF8Sequence json = JSONParser.map(path);
+		return JSONParser.parseObject(new JSONObject(json), 0, json.length(), false);
+	}
+	
+	/**
+	 * Parses only the values of the names of {@code projection} from an object implementing {@link CharSequence} as {@link JSONObject}.
+	 * <p>The names of the JSON object are compared with the names of the projection where they are stored, the values of any other
+	 * name are skipped without being placed. Parsing stops as soon as every name of the projection was found, the text that follows
+	 * is therefore neither read nor checked. A name that occurs more than once keeps the last of its values that was read.</p>
+	 * <p>{@code json} is read in place, only the names and the values that are placed are copied to the builder of the object.</p>
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @param projection - the names of the values that will be parsed.
+	 * @return {@link JSONObject} that only contains the values of the names of {@code projection} that were found.
+	 * @throws JSONParseException if the text read before the last of the names was found could not be parsed.
+	 * 
+	 * @see JSONParser#parseObject(JSONObject, int, int, JSONProjection)
+	 */
+	public static JSONObject parseObject(final CharSequence json, final JSONProjection projection) {
+		return JSONParser.parseObject(new JSONObject(), json, 0, json.length(), projection);
+	}
+	
+	/**
+	 * Parses only the values of {@code names} from an object implementing {@link CharSequence} as {@link JSONObject}.
+	 * <p>A {@link JSONProjection} that is created once should be preferred if the same names are parsed repeatedly.</p>
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @param names - the names of the values that will be parsed.
+	 * @return {@link JSONObject} that only contains the values of {@code names} that were found.
+	 * @throws JSONParseException if the text read before the last of the names was found could not be parsed.
+	 * 
+	 * @see JSONParser#parseObject(CharSequence, JSONProjection)
+	 */
+	public static JSONObject parseObject(final CharSequence json, final Set<String> names) {
+		return JSONParser.parseObject(json, new JSONProjection(names));
+	}
+	
+	/**
+	 * Parses only the values of the names of {@code projection} from a UTF-8 encoded file as {@link JSONObject}.
+	 * <p>The file is mapped to memory the same way as by {@link JSONParser#parseObject(Path)}, only the pages up to the last of the names are read.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @param projection - the names of the values that will be parsed.
+	 * @return {@link JSONObject} that only contains the values of the names of {@code projection} that were found.
+	 * @throws JSONParseException if the file was not found, is larger than {@link Integer#MAX_VALUE} bytes or could not be parsed.
+	 * 
+	 * @see JSONParser#parseObject(CharSequence, JSONProjection)
+	 */
+	public static JSONObject parseObject(final Path path, final JSONProjection projection) {
+		final UTF8Sequence json = JSONParser.map(path);
+		return JSONParser.parseObject(new JSONObject(json), 0, json.length(), projection);
+	}
+	
+	/**
+	 * Parses only the values of the names of {@code projection} from the characters of {@code object} from bounds {@code lower}
+	 * to {@code upper} into {@code object}.
+	 * 
+	 * @param object - the {@link JSONObject} whose characters will be read and to which the values will be placed.
+	 * @param lower - the lower bound of the characters of {@code object}.
+	 * @param upper - the upper bound of the characters of {@code object}.
+	 * @param projection - the names of the values that will be parsed.
+	 * @return {@code object}.
+	 * @throws JSONParseException if the text read before the last of the names was found could not be parsed.
+	 * 
+	 * @see JSONParser#parseObject(CharSequence, JSONProjection)
+	 */
+	public static JSONObject parseObject(final JSONObject object, final int lower, final int upper, final JSONProjection projection) {
+		return JSONParser.parseObject(object, object.getJSON(), lower, upper, projection);
+	}
+	
+	// Parse the values of the names of projection from json into object and report the parse.
+	private static JSONObject parseObject(final JSONObject object, final CharSequence json, final int lower, final int upper, final JSONProjection projection) {
+		final JSONParseListener listener = JSONParser.listener;
 		
-		try {
-			final BufferedReader reader = new BufferedReader(new FileReader(file));
-			readable = (size = reader.read(buffer)) - 1;
-			
-			reader.close();
-		} catch (IOException e) {
-			throw new JSONParseException("The file could not be parsed!", e);
+		if (listener == null) {
+			return JSONParser.scanObject(object, json, lower, upper, projection);
 		}
-		final JSONObject object = new JSONObject(new String(buffer));
-		boolean open = false;
+		final int size = object.size();
+		final long start = System.nanoTime();
 		
-		for (int i = 0; i < size; ++i) {
-			char read = buffer[i];
-
-			switch (read) {
-				case '{': {
-					open = true;
-					break;
-				}
-				case '}': {
-					if (open) {
-						open = false;
-					} else {
-						throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
-					}
-					break;
-				}
-				case '"': {
-					final StringBuilder name = new StringBuilder();
-					
-					do {
-						if (i == readable) {
-							throw new JSONParseException("Quotes ('\"') are not balanced!");
-						}
-					} while (JSONUtils.append(name, buffer[++i], buffer, i));
-					
-					++i;
-					
-					do {
-						if (i == readable) {
-							throw new JSONParseException("Quotes ('\"') are not balanced!");
-						}
-					} while (JSONUtils.isWhitespace(buffer[++i]));
-					
-					final int[] value = new int[2];
-					read = buffer[i];
-					
-					if (read == '[' || read == '{') {
-						final char opening = read, closing = (char) (opening + 2);
-						value[0] = i;
-						
-						int balanced = 1;
-						
-						do {
-							if ((read = buffer[++i]) == opening || read == closing) {
-								balanced = balanced - 1 + closing - read;
-							}
-							if (i == readable) {
-								throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
-							}
-						} while (balanced != 0);
-						
-						value[1] = i + 1;
-					} else if (read == '"') {
-						value[0] = i;
-						
-						while (JSONUtils.shouldSkip(read, read = buffer[++i], buffer, i)) {
-							if (i == readable) {
-								throw new JSONParseException("Quotes ('\"') are not balanced!");
-							}
-						}
-						value[1] = i + 1;
-					} else {
-						value[0] = i;
-						
-						while ((read = buffer[++i]) != ',' && read != '}') {
-							if (JSONUtils.isWhitespace(read)) {
-								do {
-									if (i == readable) {
-										throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
-									}
-								} while (JSONUtils.isWhitespace(buffer[++i]));
+		JSONParser.scanObject(object, json, lower, upper, projection);
+		listener.parsed(JSONParseListener.Kind.OBJECT, false, upper - lower, object.size() - size, 1, System.nanoTime() - start);
+		return object;
+	}
 	
-								if ((read = buffer[i]) == '}') {
-									break;
-								}
-							}
-							if (i == readable) {
-								throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
-							}
-						}
-						if (read == '}') {
-							if (open) {
-								open = false;
-							} else {
-								throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
-							}
-						}
-						value[1] = i;
-					}
-					object.place(name.toString(), value);
-					break;
+	// Parse the values of the names of projection from json into object, the names and values are copied to the builder of object
+	// if json is not the characters of object.
+	private static JSONObject scanObject(final JSONObject object, final CharSequence json, final int lower, final int upper, final JSONProjection projection) {
+		final StringBuilder builder = json == object.getJSON() ? null : object.getBuilder();
+		
+		final int readable = upper - 1; // The maximum index that can be read from.
+		final int found = object.size() + projection.size(); // The size of the object once every name was found.
+		
+		int i = JSONParser.skipWhitespace(json, lower, readable);
+		
+		if (i > readable || json.charAt(i) != '{') {
+			throw new JSONParseException("There was no JSON object found in the input json from bounds " + lower + " to " + upper + '!');
+		}
+		i = JSONParser.skipWhitespace(json, i + 1, readable);
+		
+		// The JSON object is empty.
+		if (i <= readable && json.charAt(i) == '}') {
+			return object;
+		}
+		while (object.size() != found) {
+			if (i > readable || json.charAt(i) != '"') {
+				throw new JSONParseException("Expected the name of a value at index " + i + '!');
+			}
+			// The name is not copied, only its bounds (without the quotes) and its hash code are used.
+			final int nameLower = i + 1;
+			int hash = 0;
+			char read = '"';
+			
+			// If this operation has led i to be equal to readable, the input json is not a valid JSON object.
+			if (i == readable) {
+				throw new JSONParseException("Quotes ('\"') are not balanced!");
+			}
+			// Read until a quote that closes the name is encountered, hashing the name the same way as String#hashCode().
+			while (JSONUtils.shouldSkip(read, read = json.charAt(++i), json, i)) {
+				// If this operation has led i to be equal to readable, the input json is not a valid JSON object.
+				if (i == readable) {
+					throw new JSONParseException("Quotes ('\"') are not balanced!");
 				}
-				default: {
-					break;
+				hash = 31 * hash + read;
+			}
+			final int nameUpper = i;
+			
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+			
+			if (i > readable || json.charAt(i) != ':') {
+				throw new JSONParseException("Expected a colon (':') after the name at index " + nameLower + '!');
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			// The values of the names that are not part of the projection are skipped without being placed.
+			final int start = i, end = JSONParser.skipValue(json, i, readable);
+			
+			if (projection.indexOf(json, nameLower, nameUpper, hash) != -1) {
+				if (builder == null) {
+					object.place(nameLower, nameUpper, hash, start, end);
+				} else {
+					// Lay the field out the same way JSONObject#add(String, Object) does.
+					final int copiedLower = builder.append('"').length();
+					final int copiedUpper = builder.append(json, nameLower, nameUpper).length();
+					final int valueLower = builder.append("\":").length();
+					
+					object.place(copiedLower, copiedUpper, hash, valueLower, builder.append(json, start, end).length());
 				}
 			}
-		}
-		if (open) {
-			throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
+			i = JSONParser.skipWhitespace(json, end, readable);
+			
+			if (i > readable || (read = json.charAt(i)) != ',' && read != '}') {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			if (read == '}') {
+				break;
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
 		}
 		return object;
 	}
@@ -345,8 +520,65 @@ public class JSONParser {
 	 * @see JSONParser#parseArray(CharSequence)
 	 */
 	public static JSONArray parseArray(final CharSequence json, final int lower, final int upper) {
-		final int readable = upper - 1; // The maximum index that can be read from.
+		// Only the characters within the bounds are copied, the copy is then shared by every component navigated from the result.
+		final JSONArray array = new JSONArray();
+		array.getBuilder().append(json, lower, upper);
 		
+		return JSONParser.parseArray(array, 0, upper - lower, false);
+	}
+	
+	/**
+	 * Parses the characters of {@code array} from bounds {@code lower} to {@code upper} into {@code array}.
+	 * <p>No characters are copied, they are shared, which makes this method suitable for
+	 * navigating to a nested JSON array of an already parsed component.</p>
+	 * 
+	 * @param array - the {@link JSONArray} whose characters will be read and to which the elements will be placed.
+	 * @param lower - the lower bound of the characters of {@code array}.
+	 * @param upper - the upper bound of the characters of {@code array}.
+	 * @return {@code array}.
+	 * @throws JSONParseException if the text could not be parsed.
+	 * 
+	 * @see JSONParser#parseArray(CharSequence, int, int)
+	 */
+	public static JSONArray parseArray(final JSONArray array, final int lower, final int upper) {
+		return JSONParser.parseArray(array, lower, upper, true);
+	}
+	
+	// Parse the characters of array into array and report the parse, nested tells whether the characters were already read by the parse of an enclosing component.
+	static JSONArray parseArray(final JSONArray array, final int lower, final int upper, final boolean nested) {
+		return JSONParser.parseArray(array, lower, upper, nested, JSONParser.listener);
+	}
+	
+	// Parse the characters of array into array and report the parse to listener, if there is one.
+	private static JSONArray parseArray(final JSONArray array, final int lower, final int upper, final boolean nested, final JSONParseListener listener) {
+		if (listener == null) {
+			return JSONParser.scanArray(array, lower, upper);
+		}
+		final int size = array.size();
+		final long start = System.nanoTime();
+		
+		JSONParser.scanArray(array, lower, upper);
+		listener.parsed(JSONParseListener.Kind.ARRAY, nested, upper - lower, array.size() - size, 1, System.nanoTime() - start);
+		return array;
+	}
+	
+	// Parse the characters of array into array.
+	private static JSONArray scanArray(final JSONArray array, final int lower, final int upper) {
+		final CharSequence json = array.getJSON();
+		
+		// If the JSON array was never closed, the input json is not a valid JSON array.
+		if (JSONParser.parseElements(array, json, JSONParser.openArray(json, lower, upper), upper, upper - 1)) {
+			throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+		}
+		return array;
+	}
+	
+	// Skip the whitespace characters before the opening bracket of a JSON array, return the index that follows the bracket.
+	private static int openArray(final CharSequence json, final int lower, final int upper) {
+		// Check if there is anything to read, if there isn't, there is no JSON array.
+		if (lower >= upper) {
+			throw new JSONParseException("There was no JSON array found in the input json from bounds " + lower + " to " + upper + '!');
+		}
 		int i = lower;
 		
 		// Skip all of the unnecessary whitespace characters.
@@ -360,10 +592,15 @@ public class JSONParser {
 		if (json.charAt(i - 1) != '[') {
 			throw new JSONParseException("There was no JSON array found in the input json from bounds " + lower + " to " + upper + '!');
 		}
-		final JSONArray array = new JSONArray(json);
+		return i;
+	}
+	
+	// Place the elements that start from index i to index end into array, return true if the JSON array was not closed.
+	// The elements may be read up to index readable, the maximum index that can be read from.
+	private static boolean parseElements(final JSONArray array, final CharSequence json, int i, final int end, final int readable) {
 		boolean open = true; // The JSON array was successfully opened.
 		
-		for (; i < upper; ++i) {
+		for (; i < end; ++i) {
 			char read = json.charAt(i);
 			
 			// The character read was a whitespace character or a comma, do nothing.
@@ -374,46 +611,14 @@ public class JSONParser {
 				// Encountered the start of a JSON structure.
 				case '[':
 				case '{': {
-					// The bounds of the element: [lower, upper + 1].
+					// The bounds of the element: [start, upper + 1].
 					// The one is added because CharSequence#subSequence(int, int) takes the upper bound and subtracts one from it .
-					final int[] element = new int[2];
-					element[0] = i; // The element begins at index i.
-					
-					// The difference of the integer values of a JSON structure's closing and opening characters is two.
-					final char opening = read, closing = (char) (read + 2);
-					// Whatever is between the opening and closing characters does not matter right now, only the bounds of the value is needed.
-					// The value is initially one because of the character that was just read.
-					int balanced = 1;
+					final int start = i; // The element begins at index i.
 					
-					// Check if a name is being read so the opening or closing characters inside the name are not read.
-					boolean quoteOpen = false;
+					i = JSONParser.skipStructure(json, i, readable);
 					
-					// Read until a character closes the structure completely (will happen once balanced equals 0).
-					do {
-						// If this operation has led i to be equal to readable, the input json is not a valid JSON array.
-						if (i == readable) {
-							throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
-						}
-						// Check if a name is being read so the opening or closing characters inside the name are not read.
-						if (read == '"') {
-							int j = 0;
-							
-							do {
-								quoteOpen = !quoteOpen;
-							} while (json.charAt(i - ++j) == '\\');
-						}
-						// Check if the character read is either the opening or closing character for the given JSON structure.
-						if (((read = json.charAt(++i)) == closing || read == opening) && !quoteOpen) {
-							// balanced = balanced - 1 + closing - read
-							// = balanced - 1 + (2 or 0, depends whether read is equal to closing or opening)
-							// = balanced - (1)
-							balanced = balanced - 1 + closing - read;
-						}
-					} while (balanced != 0);
-					
-					element[1] = i + 1; // The element ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
-					
-					array.place(element); // Set the bounds in the array corresponding the element.
+					// The element ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
+					array.place(start, i + 1); // Set the bounds in the array corresponding the element.
 					break;
 				}
 				// Encountered the end of a JSON array.
@@ -427,27 +632,28 @@ public class JSONParser {
 					break;
 				}
 				case '"': {
-					// The bounds of the element: [lower, upper + 1].
+					// The bounds of the element: [start, upper + 1].
 					// The one is added because CharSequence#subSequence(int, int) takes the upper bound and subtracts one from it .
-					final int[] element = new int[2];
-					element[0] = i;  // The element begins at index i.
+					final int start = i; // The element begins at index i.
 					
+					// If the quote is the last character, the input json is not a valid JSON array.
+					if (i == readable) {
+						throw new JSONParseException("Quotes ('\"') are not balanced!");
+					}
 					while (JSONUtils.shouldSkip(read, read = json.charAt(++i), json, i)) {
 						// If this operation has led i to be equal to readable, the input json is not a valid JSON array.
 						if (i == readable) {
 							throw new JSONParseException("Quotes ('\"') are not balanced!");
 						}
 					}
-					element[1] = i + 1; // The element ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
-					
-					array.place(element); // Set the bounds in the array corresponding the element.
+					// The element ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
+					array.place(start, i + 1); // Set the bounds in the array corresponding the element.
 					break;
 				}
 				default: {
-					// The bounds of the element: [lower, upper + 1].
+					// The bounds of the element: [start, upper + 1].
 					// The one is added because CharSequence#subSequence(int, int) takes the upper bound and subtracts one from it .
-					final int[] element = new int[2];
-					element[0] = i; // The element begins at index i.
+					final int start = i; // The element begins at index i.
 					
 					// Read until a comma (end of element, element coming after it) or a closing bracket (end of element, end of array).
 					do {
@@ -467,18 +673,94 @@ public class JSONParser {
 					}
 					// The element ends at index i - 1, but index i is stored because of CharSequence#subSequence(int, int).
 					// Currently, either ',' or ']' is at the index i.
-					element[1] = i;
-					
-					array.place(element); // Set the bounds in the array corresponding the element.
+					array.place(start, i); // Set the bounds in the array corresponding the element.
 					break;
 				}
 			}
 		}
-		// If the JSON object was never closed, the input json is not a valid JSON array.
-		if (open) {
-			throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+		return open;
+	}
+	
+	// Return the index of the character that closes the JSON structure opened at index i, the opening and closing characters
+	// within strings are not counted. The structure may be read up to index readable, the maximum index that can be read from.
+	static int skipStructure(final CharSequence json, int i, final int readable) {
+		char read = json.charAt(i);
+		
+		// The difference of the integer values of a JSON structure's closing and opening characters is two.
+		final char opening = read, closing = (char) (read + 2);
+		// Whatever is between the opening and closing characters does not matter right now, only the bounds of the value is needed.
+		// The value is initially one because of the character that was just read.
+		int balanced = 1;
+		
+		// Check if a name is being read so the opening or closing characters inside the name are not read.
+		boolean quoteOpen = false;
+		
+		// Read until a character closes the structure completely (will happen once balanced equals 0).
+		do {
+			// If this operation has led i to be equal to readable, the input json is not valid.
+			if (i == readable) {
+				throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
+			}
+			// Check if a name is being read so the opening or closing characters inside the name are not read.
+			if (read == '"') {
+				int j = 0;
+				
+				do {
+					quoteOpen = !quoteOpen;
+				} while (json.charAt(i - ++j) == '\\');
+			}
+			// Check if the character read is either the opening or closing character for the given JSON structure.
+			if (((read = json.charAt(++i)) == closing || read == opening) && !quoteOpen) {
+				// balanced = balanced - 1 + closing - read
+				// = balanced - 1 + (2 or 0, depends whether read is equal to closing or opening)
+				// = balanced - (±1)
+				balanced = balanced - 1 + closing - read;
+			}
+		} while (balanced != 0);
+		
+		return i;
+	}
+	
+	// Return the index that follows the value at index i, the value itself is not read.
+	static int skipValue(final CharSequence json, int i, final int readable) {
+		final char read = json.charAt(i);
+		
+		if (read == '{' || read == '[') {
+			return JSONParser.skipStructure(json, i, readable) + 1;
 		}
-		return array;
+		if (read == '"') {
+			return JSONParser.skipString(json, i, readable);
+		}
+		// Read until the character after the value is either a separator, a whitespace character or the end of a JSON structure.
+		char next;
+		
+		while (i != readable && !JSONUtils.isWhitespace(next = json.charAt(i + 1)) && next != ',' && next != '}' && next != ']') {
+			++i;
+		}
+		return i + 1;
+	}
+	
+	// Return the index that follows the quote closing the string opened at index i.
+	static int skipString(final CharSequence json, int i, final int readable) {
+		char read = '"';
+		
+		// Read until a quote that closes the string is encountered.
+		do {
+			// If this operation has led i to be equal to readable, the input json is not valid.
+			if (i == readable) {
+				throw new JSONParseException("Quotes ('\"') are not balanced!");
+			}
+		} while (JSONUtils.shouldSkip(read, read = json.charAt(++i), json, i));
+		
+		return i + 1;
+	}
+	
+	// Return the index of the first character from index i on that is not a whitespace character, readable + 1 if there is none.
+	static int skipWhitespace(final CharSequence json, int i, final int readable) {
+		while (i <= readable && JSONUtils.isWhitespace(json.charAt(i))) {
+			++i;
+		}
+		return i;
 	}
 	
 	/**
@@ -494,125 +776,647 @@ public class JSONParser {
 		return JSONParser.parseArray(json, 0, json.length());
 	}
 	
+	/**
+	 * Parses UTF-8 encoded bytes from bounds {@code lower} to {@code upper} as {@link JSONArray}.
+	 * <p>The bytes are read directly, they are neither decoded nor copied. Only the values that are read as
+	 * strings are decoded, therefore the bytes must not be modified while the result is in use.</p>
+	 * 
+	 * @param json - the bytes that will be read.
+	 * @param lower - the lower bound of {@code json}.
+	 * @param upper - the upper bound of {@code json}.
+	 * @return {@link JSONArray} that was parsed from {@code json}.
+	 * @throws JSONParseException if the bytes could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static JSONArray parseArray(final byte[] json, final int lower, final int upper) {
+		return JSONParser.parseArray(new JSONArray(new UTF8Sequence(json, lower, upper)), 0, upper - lower, false);
+	}
+	
+	/**
+	 * Parses the UTF-8 encoded bytes of a {@link ByteBuffer} from its position to its limit as {@link JSONArray}.
+	 * <p>The bytes are read directly, they are neither decoded nor copied. Only the values that are read as
+	 * strings are decoded, therefore the bytes must not be modified while the result is in use.
+	 * The position of {@code json} is not changed.</p>
+	 * 
+	 * @param json - the buffer that will be read.
+	 * @return {@link JSONArray} that was parsed from {@code json}.
+	 * @throws JSONParseException if the bytes could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static JSONArray parseArray(final ByteBuffer json) {
+		return JSONParser.parseArray(new JSONArray(new UTF8Sequence(json)), 0, json.remaining(), false);
+	}
+	
 	/**
 	 * Parses a {@link File} as {@link JSONArray}.
 	 * 
 	 * @param file - the file that will be read.
 	 * @return {@link JSONArray} that was parsed from {@code file}.
 	 * @throws JSONParseException if the file was not found or could not be parsed.
+	 * 
+	 * @see JSONParser#parseArray(Path)
 	 */
 	public static JSONArray parseArray(final File file) {
-		final char[] buffer = new char[(int) file.length()];
-		final int size, readable;
+		return JSONParser.parseArray(file.toPath());
+	}
+	
+	/**
+	 * Parses a UTF-8 encoded file as {@link JSONArray}.
+	 * <p>The file is mapped to memory and read in place, it is neither copied to the heap nor decoded.
+	 * Only the values that are read as strings are decoded from the mapped bytes, the file stays mapped while the result is in use.</p>
+	 * <p>The whole document is mapped as a single buffer and the components keep {@code int} bounds into it, a file can therefore
+	 * not be larger than {@link Integer#MAX_VALUE} bytes (2 GB). A value of a larger file is selected with {@link JSONPath#evaluate(Path)},
+	 * which only maps the selected value, and a larger file of JSON lines is parsed with {@link JSONLines#parse(Path)}.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return {@link JSONArray} that was parsed from the file.
+	 * @throws JSONParseException if the file was not found, is larger than {@link Integer#MAX_VALUE} bytes or could not be parsed.
+	 * 
+	 * @see UTF8Sequence
+	 */
+	public static JSONArray parseArray(final Path path) {
+		final UTF8Sequence json = JSONParser.map(path);
+		return JSONParser.parseArray(new JSONArray(json), 0, json.length(), false);
+	}
+	
+	/**
+	 * Parses the characters of {@code array} from bounds {@code lower} to {@code upper} into {@code array} on every worker of the common {@link ForkJoinPool}.
+	 * <p>The characters are split into chunks that are scanned in parallel for the commas separating the elements of the array.
+	 * Whether a chunk starts inside a string is only known once the chunks before it were scanned, so every chunk is scanned
+	 * as if it does not and is scanned again if that turns out to be wrong. The characters between the commas are then parsed
+	 * in parallel by the same code as {@link JSONParser#parseArray(JSONArray, int, int)}, which makes the result identical to the
+	 * one of a sequential parse. Inputs that are too small to be split are parsed sequentially.</p>
+	 * 
+	 * @param array - the {@link JSONArray} whose characters will be read and to which the elements will be placed.
+	 * @param lower - the lower bound of the characters of {@code array}.
+	 * @param upper - the upper bound of the characters of {@code array}.
+	 * @return {@code array}.
+	 * @throws JSONParseException if the text could not be parsed.
+	 * 
+	 * @see JSONParser#parseArray(JSONArray, int, int)
+	 */
+	public static JSONArray parseArrayParallel(final JSONArray array, final int lower, final int upper) {
+		final JSONParseListener listener = JSONParser.listener;
+		
+		if (listener == null) {
+			return JSONParser.splitArray(array, lower, upper);
+		}
+		final int size = array.size();
+		final long start = System.nanoTime();
+		
+		JSONParser.splitArray(array, lower, upper);
+		listener.parsed(JSONParseListener.Kind.ARRAY, false, upper - lower, array.size() - size, 1, System.nanoTime() - start);
+		return array;
+	}
+	
+	// Parse the characters of array into array on every worker of the common pool.
+	private static JSONArray splitArray(final JSONArray array, final int lower, final int upper) {
+		final CharSequence json = array.getJSON();
+		final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+		final int chunks = (int) Math.min(4L * parallelism, (upper - lower) / PARALLEL_CHUNK);
 		
+		// A single worker would only scan the characters twice.
+		if (parallelism < 2 || chunks < 2) {
+			return JSONParser.scanArray(array, lower, upper);
+		}
 		try {
-			final BufferedReader reader = new BufferedReader(new FileReader(file));
-			readable = (size = reader.read(buffer)) - 1;
+			final int start = JSONParser.openArray(json, lower, upper);
+			int end = upper;
 			
-			reader.close();
+			// The closing bracket is left out of the chunks, so the depth within the chunks never falls below the depth of the elements.
+			while (end > start && JSONUtils.isWhitespace(json.charAt(end - 1))) {
+				--end;
+			}
+			if (json.charAt(--end) != ']') {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+			final int[] bounds = new int[chunks + 1];
+			bounds[0] = start;
+			bounds[chunks] = end;
+			
+			for (int chunk = 1; chunk < chunks; ++chunk) {
+				int bound = Math.max(bounds[chunk - 1], start + (int) ((long) (end - start) * chunk / chunks));
+				
+				// A chunk never starts right after a backslash, so no escape sequence is split between two chunks.
+				while (bound < end && json.charAt(bound - 1) == '\\') {
+					++bound;
+				}
+				bounds[chunk] = bound;
+			}
+			final Chunk[] scanned = IntStream.range(0, chunks).parallel().mapToObj(chunk -> new Chunk(json, bounds[chunk], bounds[chunk + 1], false)).toArray(Chunk[]::new);
+			final boolean[] quoted = new boolean[chunks];
+			
+			// A chunk starts inside a string if the chunk before it ends inside one, scanning it from the other state flips the state it ends in.
+			for (int chunk = 1; chunk < chunks; ++chunk) {
+				quoted[chunk] = scanned[chunk - 1].quoted != quoted[chunk - 1];
+			}
+			IntStream.range(1, chunks).parallel().filter(chunk -> quoted[chunk]).forEach(chunk -> scanned[chunk] = new Chunk(json, bounds[chunk], bounds[chunk + 1], true));
+			
+			// The elements are separated by the commas at the depth of the start, only the first one of every chunk is needed to split the work.
+			final int[] separators = new int[chunks + 1];
+			int count = 0, depth = 0;
+			separators[count++] = start;
+			
+			for (final Chunk chunk : scanned) {
+				if (chunk.minimum < -depth) {
+					throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+				}
+				if (chunk.minimum == -depth && chunk.comma >= 0) {
+					separators[count++] = chunk.comma;
+				}
+				depth += chunk.depth;
+			}
+			if (depth != 0 || scanned[chunks - 1].quoted) {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+			separators[count] = upper;
+			
+			// The arrays of the segments are only placed into array, so a builder is copied once to a String they can share.
+			final CharSequence shared = json instanceof UTF8Sequence ? json : json.toString();
+			final int segments = count;
+			final JSONArray[] parsed = IntStream.range(0, segments).parallel().mapToObj(segment -> {
+				final JSONArray elements = JSONParser.share(shared);
+				
+				// Only the last segment holds the closing bracket.
+				if (JSONParser.parseElements(elements, json, separators[segment], separators[segment + 1], upper - 1) != (segment != segments - 1)) {
+					throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+				}
+				return elements;
+			}).toArray(JSONArray[]::new);
+			
+			for (final JSONArray elements : parsed) {
+				array.place(elements);
+			}
+			return array;
+		} catch (JSONParseException | IndexOutOfBoundsException e) {
+			// Parse the input again sequentially, so that the same exception is thrown as by a sequential parse.
+			return JSONParser.scanArray(array, lower, upper);
+		}
+	}
+	
+	/**
+	 * Parses an object implementing {@link CharSequence} as {@link JSONArray} in parallel.
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return {@link JSONArray} that was parsed from {@code json}.
+	 * @throws JSONParseException if the text could not be parsed.
+	 * 
+	 * @see JSONParser#parseArrayParallel(JSONArray, int, int)
+	 */
+	public static JSONArray parseArrayParallel(final CharSequence json) {
+		// The characters are copied to a String at most once, which the array shares with the arrays of the segments.
+		return JSONParser.parseArrayParallel(new JSONArray(json.toString()), 0, json.length());
+	}
+	
+	/**
+	 * Parses a UTF-8 encoded file as {@link JSONArray} in parallel, the file is mapped to memory and read in place.
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return {@link JSONArray} that was parsed from the file.
+	 * @throws JSONParseException if the file was not found, is larger than {@link Integer#MAX_VALUE} bytes or could not be parsed.
+	 * 
+	 * @see JSONParser#parseArray(Path)
+	 * @see JSONParser#parseArrayParallel(JSONArray, int, int)
+	 */
+	public static JSONArray parseArrayParallel(final Path path) {
+		final UTF8Sequence json = JSONParser.map(path);
+		return JSONParser.parseArrayParallel(new JSONArray(json), 0, json.length());
+	}
+	
+	// Create an empty array that shares the characters of json, which is either a String or a UTF8Sequence.
+	private static JSONArray share(final CharSequence json) {
+		return json instanceof UTF8Sequence ? new JSONArray((UTF8Sequence) json) : new JSONArray((String) json);
+	}
+	
+	/**
+	 * Streams the elements of a JSON array from a UTF-8 encoded stream without reading the whole array first.
+	 * <p>An element is only read once the stream is advanced to it and nothing but the element itself is kept,
+	 * so the memory used depends on the size of the largest element instead of the size of the array.
+	 * Closing the returned stream closes {@code stream}.</p>
+	 * 
+	 * @param stream - the stream the JSON array is read from.
+	 * @return lazy {@link Stream} of the elements of the JSON array.
+	 * @throws JSONParseException if the input does not start with a JSON array, elements that could not be parsed throw once they are read.
+	 * 
+	 * @see JSONReader
+	 */
+	public static Stream<JSONValue> streamArray(final InputStream stream) {
+		return JSONParser.streamArray(new JSONReader(stream));
+	}
+	
+	/**
+	 * Streams the elements of a JSON array from a UTF-8 encoded file without reading the whole array first.
+	 * <p>The file stays open until the returned stream is closed.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return lazy {@link Stream} of the elements of the JSON array.
+	 * @throws JSONParseException if the file was not found or does not start with a JSON array, elements that could not be parsed throw once they are read.
+	 * 
+	 * @see JSONParser#streamArray(InputStream)
+	 */
+	public static Stream<JSONValue> streamArray(final Path path) {
+		try {
+			return JSONParser.streamArray(new JSONReader(FileChannel.open(path, StandardOpenOption.READ)));
 		} catch (IOException e) {
 			throw new JSONParseException("The file could not be parsed!", e);
 		}
-		int i = 0;
-		
-		while (JSONUtils.isWhitespace(buffer[i++])) {
-			if (i == size) {
-				throw new JSONParseException("There was no JSON array found in the file " + file.getName() + '!');
+	}
+	
+	private static Stream<JSONValue> streamArray(final JSONReader reader) {
+		try {
+			reader.beginArray();
+		} catch (JSONParseException e) {
+			JSONParser.close(reader);
+			throw e;
+		}
+		final Iterator<JSONValue> iterator = new Iterator<>() {
+			private boolean ended;
+			
+			@Override
+			public boolean hasNext() {
+				if (this.ended) {
+					return false;
+				}
+				if (reader.hasNext()) {
+					return true;
+				}
+				// Consuming the end of the array reports input that ended before the array did.
+				reader.endArray();
+				this.ended = true;
+				
+				return false;
+			}
+			
+			@Override
+			public JSONValue next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final StringBuilder builder = new StringBuilder();
+				reader.nextValue(builder);
+				
+				return new JSONValue(builder, 0, builder.length());
 			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> JSONParser.close(reader));
+	}
+	
+	private static void close(final JSONReader reader) {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
-		if (buffer[i - 1] != '[') {
-			throw new JSONParseException("There was no JSON array found in the file " + file.getName() + '!');
+	}
+	
+	// Map a file to memory, the mapping stays valid once the channel is closed.
+	static UTF8Sequence map(final Path path) {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			
+			// The bounds of the values are integers, a whole document can therefore not be larger than a single buffer.
+			// Larger files are navigated with JSONPath#evaluate(Path), which only maps the selected value on its own.
+			if (size > Integer.MAX_VALUE) {
+				throw new JSONParseException("The file " + path.getFileName() + " is larger than " + Integer.MAX_VALUE + " bytes, select a value of it with a JSONPath!");
+			}
+			return new UTF8Sequence(channel.map(MapMode.READ_ONLY, 0, size));
+		} catch (IOException e) {
+			throw new JSONParseException("The file could not be parsed!", e);
+		}
+	}
+	
+	/**
+	 * Indexes an object implementing {@link CharSequence} into a {@link JSONTape} in a single pass.
+	 * <p>The position of every value is recorded, so components navigated from the components of the tape
+	 * never scan the same characters again. The structural characters are found in blocks of 64 characters
+	 * with bitwise operations, which do not branch on the characters.</p>
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return {@link JSONTape} that was indexed from {@code json}, its first entry is the outermost value.
+	 * @throws JSONParseException if the text could not be indexed.
+	 * 
+	 * @see JSONParser#indexObject(CharSequence)
+	 * @see JSONParser#indexArray(CharSequence)
+	 */
+	public static JSONTape index(final CharSequence json) {
+		return JSONParser.index(new JSONTape(new StringBuilder(json.length()).append(json)));
+	}
+	
+	/**
+	 * Indexes a UTF-8 encoded file into a {@link JSONTape} in a single pass.
+	 * <p>The file is mapped to memory and indexed in place, only the entries of the tape are stored on the heap.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return {@link JSONTape} that was indexed from the file, its first entry is the outermost value.
+	 * @throws JSONParseException if the file was not found, is larger than {@link Integer#MAX_VALUE} bytes or could not be indexed.
+	 * 
+	 * @see JSONParser#parseObject(Path)
+	 */
+	public static JSONTape index(final Path path) {
+		return JSONParser.index(new JSONTape(JSONParser.map(path)));
+	}
+	
+	// Index the characters of the tape into the tape and report the indexing.
+	private static JSONTape index(final JSONTape tape) {
+		final JSONParseListener listener = JSONParser.listener;
+		
+		if (listener == null) {
+			JSONParser.scan(tape);
+			return tape;
 		}
-		final JSONArray array = new JSONArray(new String(buffer));
-		boolean open = true;
+		final long start = System.nanoTime();
+		final int depth = JSONParser.scan(tape);
 		
-		for (; i < size; ++i) {
-			char read = buffer[i];
+		listener.parsed(JSONParseListener.Kind.TAPE, false, tape.getJSON().length(), tape.size(), depth, System.nanoTime() - start);
+		return tape;
+	}
+	
+	// Index the characters of the tape into the tape, walking over the structural characters found by a StructuralScanner, return the maximum depth.
+	private static int scan(final JSONTape tape) {
+		final CharSequence json = tape.getJSON();
+		final int readable = json.length() - 1; // The maximum index that can be read from.
+		final StructuralScanner scanner = new StructuralScanner().scan(json);
+		
+		// The entries of the JSON objects and JSON arrays that are yet to be closed, the last one is the innermost.
+		int[] open = new int[16];
+		int depth = 0, deepest = 0;
+		
+		for (int k = 0, size = scanner.size(); k < size; ++k) {
+			int i = scanner.get(k);
+			char read = json.charAt(i);
 			
-			if (JSONUtils.isWhitespace(read) || read == ',') {
-				continue;
-			}
 			switch (read) {
-				case '[':
-				case '{': {
-					final int[] element = new int[2];
-					element[0] = i;
-					
-					final char opening = read, closing = (char) (read + 2);
-					int balanced = 1;
-					
-					boolean quoteOpen = false;
-					
-					do {
-						if (i == readable) {
-							throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
-						}
-						if (read == '"') {
-							int j = 0;
-							
-							do {
-								quoteOpen = !quoteOpen;
-							} while (buffer[i - ++j] == '\\');
-						}
-						if (((read = buffer[++i]) == opening || read == closing) && !quoteOpen) {
-							balanced = balanced - 1 + closing - read;
-						}
-					} while (balanced != 0);
-
-					element[1] = i + 1;
-					
-					array.place(element);
+				// Encountered the start of a JSON structure.
+				case '{':
+				case '[': {
+					if (depth == open.length) {
+						open = Arrays.copyOf(open, depth << 1);
+					}
+					open[depth++] = tape.open(i);
+					deepest = Math.max(deepest, depth);
 					break;
 				}
+				// Encountered the end of a JSON structure.
+				case '}':
 				case ']': {
-					if (open) {
-						open = false;
-					} else {
-						throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+					// The difference of the integer values of a JSON structure's closing and opening characters is two.
+					if (depth == 0 || tape.getType(open[--depth]) != read - 2) {
+						throw new JSONParseException(read == '}' ? "Curly braces ('{', '}') are not balanced!" : "Brackets ('[', ']') are not balanced!");
 					}
+					tape.close(open[depth], i + 1); // The structure ends at index i, but index i + 1 is stored because of CharSequence#subSequence(int, int).
 					break;
 				}
+				// Encountered the start of a string, which is either a name or a value, the next position is the quote that closes it.
 				case '"': {
-					final int[] element = new int[2];
-					element[0] = i;
-					
-					while (JSONUtils.shouldSkip(read, read = buffer[++i], buffer, i)) {
-						if (i == readable) {
-							throw new JSONParseException("Quotes ('\"') are not balanced!");
-						}
+					// If there is no next position, the input json is not valid.
+					if (++k == size) {
+						throw new JSONParseException("Quotes ('\"') are not balanced!");
 					}
-					element[1] = i + 1;
-					
-					array.place(element);
+					tape.value(i, scanner.get(k) + 1); // The string ends at the closing quote, but the index after it is stored because of CharSequence#subSequence(int, int).
+					break;
+				}
+				// The separators only matter for the bounds of the values, do nothing.
+				case ',':
+				case ':': {
 					break;
 				}
+				// Encountered the start of a primitive value.
 				default: {
-					final int[] element = new int[2];
-					element[0] = i;
+					final int lower = i;
 					
-					do {
-						if (i == readable) {
-							throw new JSONParseException("Brackets ('[', ']') are not balanced!");
-						}
-					} while (!JSONUtils.isWhitespace(read = buffer[++i]) && read != ',' && read != ']');
-					
-					if (read == ']') {
-						if (open) {
-							open = false;	
-						} else {
-							throw new JSONParseException("Brackets ('[', ']') are not balanced!");
-						}
+					// Read until the character after the value is either a separator, a whitespace character or the end of a JSON structure.
+					while (i != readable && !JSONUtils.isWhitespace(read = json.charAt(i + 1)) && read != ',' && read != ':' && read != '}' && read != ']') {
+						++i;
 					}
-					element[1] = i;
-					
-					array.place(element);
+					tape.value(lower, i + 1);
 					break;
 				}
 			}
 		}
-		if (open) {
-			throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+		// If a JSON structure was never closed, the input json is not valid.
+		if (depth != 0) {
+			throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
+		}
+		if (tape.size() == 0) {
+			throw new JSONParseException("There was no JSON value found in the input json!");
+		}
+		return deepest;
+	}
+	
+	/**
+	 * Indexes an object implementing {@link CharSequence} as {@link JSONObject} backed by a {@link JSONTape}.
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return {@link JSONObject} that was indexed from {@code json}.
+	 * @throws JSONParseException if the text could not be indexed or is not a JSON object.
+	 * 
+	 * @see JSONParser#index(CharSequence)
+	 */
+	public static JSONObject indexObject(final CharSequence json) {
+		return JSONParser.index(json).getAsJSONObject(0);
+	}
+	
+	/**
+	 * Indexes an object implementing {@link CharSequence} as {@link JSONArray} backed by a {@link JSONTape}.
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return {@link JSONArray} that was indexed from {@code json}.
+	 * @throws JSONParseException if the text could not be indexed or is not a JSON array.
+	 * 
+	 * @see JSONParser#index(CharSequence)
+	 */
+	public static JSONArray indexArray(final CharSequence json) {
+		return JSONParser.index(json).getAsJSONArray(0);
+	}
+	
+	/**
+	 * A reusable parser that keeps its storage between parses, for services parsing many documents one after another.
+	 * <p>A document is parsed into a {@link JSONObject} or a {@link JSONArray} owned by the context, its characters are copied to
+	 * the builder of that component. Both keep their capacity when the context is reset, so once they have grown to the size of
+	 * the largest document, parsing a document allocates nothing.</p>
+	 * <p>The component returned by a parse, and every component navigated from it, is only valid until the next parse or
+	 * {@link Context#reset()}. A component that the caller froze or set a {@link JSONCache} on is left to the caller instead,
+	 * the context continues with a new one. A context must not be used by several threads at once, {@link Context#local()}
+	 * provides one per thread.</p>
+	 */
+	public static class Context {
+		// The capacity of a builder above which it is released on reset, so a single huge document is not retained forever.
+		private static final int RETAINED_CAPACITY = 1 << 20;
+		
+		private static final ThreadLocal<Context> LOCAL = ThreadLocal.withInitial(Context::new);
+		
+		private JSONObject object = new JSONObject();
+		private JSONArray array = new JSONArray();
+		
+		private SymbolTable symbols; // The table given to every component parsed by this context, null if there is none.
+		private JSONParseListener listener; // The listener of the parses of this context, null to report them to the listener of the process.
+		
+		/**
+		 * @return the context of the current thread, created the first time it is needed.
+		 */
+		public static Context local() {
+			return LOCAL.get();
+		}
+		
+		/**
+		 * Parses an object implementing {@link CharSequence} as {@link JSONObject} into the storage of this context.
+		 * 
+		 * @param json - the sequence of characters that will be read.
+		 * @return the {@link JSONObject} of this context, parsed from {@code json}.
+		 * @throws JSONParseException if the text could not be parsed.
+		 * 
+		 * @see JSONParser#parseObject(CharSequence)
+		 */
+		public JSONObject parseObject(final CharSequence json) {
+			this.reset();
+			this.object.setSymbolTable(this.symbols);
+			
+			final StringBuilder builder = this.object.getBuilder().append(json);
+			return JSONParser.parseObject(this.object, 0, builder.length(), false, this.getEffectiveListener());
+		}
+		
+		/**
+		 * Parses an object implementing {@link CharSequence} as {@link JSONArray} into the storage of this context.
+		 * 
+		 * @param json - the sequence of characters that will be read.
+		 * @return the {@link JSONArray} of this context, parsed from {@code json}.
+		 * @throws JSONParseException if the text could not be parsed.
+		 * 
+		 * @see JSONParser#parseArray(CharSequence)
+		 */
+		public JSONArray parseArray(final CharSequence json) {
+			this.reset();
+			this.array.setSymbolTable(this.symbols);
+			
+			final StringBuilder builder = this.array.getBuilder().append(json);
+			return JSONParser.parseArray(this.array, 0, builder.length(), false, this.getEffectiveListener());
+		}
+		
+		/**
+		 * Sets the table through which the names of the components parsed by this context from now on are materialized.
+		 * <p>The table is only used by this context, different contexts, such as the contexts of different threads, may use different tables.</p>
+		 * 
+		 * @param symbols - the table the names are materialized through, null to materialize every name anew.
+		 * @return this context.
+		 * 
+		 * @see JSONComponent#setSymbolTable(SymbolTable)
+		 */
+		public Context setSymbolTable(final SymbolTable symbols) {
+			this.symbols = symbols;
+			return this;
+		}
+		
+		/**
+		 * @return the table the names of the components parsed by this context are materialized through, null if there is none.
+		 */
+		public SymbolTable getSymbolTable() {
+			return this.symbols;
+		}
+		
+		/**
+		 * Sets the listener the parses of this context are reported to instead of the listener of the whole process.
+		 * <p>Only the parses performed by this context are reported, the nested components navigated to from its results are
+		 * parsed lazily and reported to the listener of the whole process, if there is one.</p>
+		 * 
+		 * @param listener - the listener the parses of this context are reported to, null to report them to the listener of the process.
+		 * @return this context.
+		 * 
+		 * @see JSONParser#setListener(JSONParseListener)
+		 */
+		public Context setListener(final JSONParseListener listener) {
+			this.listener = listener;
+			return this;
+		}
+		
+		/**
+		 * @return the listener of this context, null if its parses are reported to the listener of the process.
+		 */
+		public JSONParseListener getListener() {
+			return this.listener;
+		}
+		
+		// The listener the next parse of this context is reported to, null if there is none at all.
+		private JSONParseListener getEffectiveListener() {
+			return this.listener != null ? this.listener : JSONParser.listener;
+		}
+		
+		/**
+		 * Empties the storage of this context, the components returned by it are no longer valid.
+		 * <p>A component that was frozen or given a cache is not emptied but dropped, so neither it nor the cache is modified
+		 * or kept reachable by this context.</p>
+		 */
+		public void reset() {
+			if (Context.isReusable(this.object, this.object.getCache())) {
+				this.object.getBuilder().setLength(0);
+				this.object.clear();
+			} else {
+				this.object = new JSONObject();
+			}
+			if (Context.isReusable(this.array, this.array.getCache())) {
+				this.array.getBuilder().setLength(0);
+				this.array.clear();
+			} else {
+				this.array = new JSONArray();
+			}
+		}
+		
+		// Whether component can be emptied in place, it cannot if the caller froze it or gave it a cache or its builder grew too large.
+		private static boolean isReusable(final JSONComponent component, final JSONCache cache) {
+			return !component.isFrozen() && cache == null && component.getBuilder().capacity() <= RETAINED_CAPACITY;
+		}
+	}
+	
+	// The result of scanning a chunk of a JSON array for the commas that separate its elements.
+	private static final class Chunk {
+		private final boolean quoted; // Whether the chunk ends inside a string.
+		private final int depth; // The depth at the end of the chunk, relative to its start.
+		private final int minimum; // The minimum depth within the chunk, relative to its start.
+		private final int comma; // The first comma at the minimum depth, -1 if there is none.
+		
+		private Chunk(final CharSequence json, final int lower, final int upper, boolean quoted) {
+			int depth = 0, minimum = 0, comma = -1;
+			
+			for (int i = lower; i < upper; ++i) {
+				final char read = json.charAt(i);
+				
+				// Backslashes only appear in strings, so the escaped character is skipped regardless of whether the chunk was predicted to start in one.
+				if (read == '\\') {
+					++i;
+					continue;
+				}
+				if (read == '"') {
+					quoted = !quoted;
+				} else if (!quoted) {
+					switch (read) {
+						case '[':
+						case '{': {
+							++depth;
+							break;
+						}
+						case ']':
+						case '}': {
+							// A new minimum depth makes the commas found so far nested ones.
+							if (--depth < minimum) {
+								minimum = depth;
+								comma = -1;
+							}
+							break;
+						}
+						case ',': {
+							if (depth == minimum && comma < 0) {
+								comma = i;
+							}
+							break;
+						}
+					}
+				}
+			}
+			this.quoted = quoted;
+			this.depth = depth;
+			this.minimum = minimum;
+			this.comma = comma;
 		}
-		return array;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,415 @@
+package org.lightweight.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lightweight.json.components.JSONValue;
+import org.lightweight.json.exceptions.JSONParseException;
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * A path to a single value within JSON text, compiled once and evaluated against any amount of texts.
+ * <p>A path starts with {@code $}, the outermost value, followed by any amount of steps: {@code .name} or {@code ['name']}
+ * selects the value of a name of a JSON object and {@code [index]} selects an element of a JSON array.</p>
+ * <p>The text is only read as far as the selected value. The values that are not on the path are skipped with the same scan that
+ * {@link JSONParser} uses to find the bounds of a value, neither their names nor their values are placed or materialized, and
+ * the text that follows the selected value is not read at all. A path holds no state while it is evaluated, it may therefore
+ * be shared by several threads.</p>
+ * 
+ * @see JSONParser
+ */
+public class JSONPath {
+	private final String expression;
+	
+	// The steps of the path, a step selects the name of the same index, or the element at its index if the name is null.
+	private final String[] names;
+	private final String[] encodedNames; // The names encoded the way UTF8Sequence#charAt(int) returns them.
+	private final int[] indexes;
+	
+	private JSONPath(final String expression, final List<String> names, final List<Integer> indexes) {
+		this.expression = expression;
+		this.names = names.toArray(new String[0]);
+		this.encodedNames = new String[this.names.length];
+		this.indexes = new int[this.names.length];
+		
+		for (int step = 0; step < this.names.length; ++step) {
+			this.encodedNames[step] = this.names[step] == null ? null : UTF8Sequence.encode(this.names[step]);
+			this.indexes[step] = indexes.get(step);
+		}
+	}
+	
+	/**
+	 * Compiles a path such as {@code $.payload.user.id}, {@code $.items[2]['display name']} or {@code $}.
+	 * <p>A name that follows a dot ends at the next dot or bracket, a quoted name may contain any character and escapes its
+	 * quote and backslashes with a backslash. The leading {@code $} may be omitted, the path may then start with a name without a dot
+	 * ({@code payload.user}).</p>
+	 * 
+	 * @param expression - the path that will be compiled.
+	 * @return the compiled {@link JSONPath}.
+	 * @throws IllegalArgumentException if {@code expression} is not a valid path.
+	 */
+	public static JSONPath compile(final String expression) {
+		final List<String> names = new ArrayList<>();
+		final List<Integer> indexes = new ArrayList<>();
+		final int length = expression.length();
+		
+		int i = expression.startsWith("$") ? 1 : 0;
+		
+		// Without the leading $, the path may start with a name as if it followed a dot.
+		boolean bare = i == 0 && length != 0 && expression.charAt(0) != '.' && expression.charAt(0) != '[';
+		
+		while (i < length) {
+			char read = expression.charAt(i);
+			
+			if (read == '.' || bare) {
+				final int start = bare ? i : ++i;
+				bare = false;
+				
+				while (i < length && (read = expression.charAt(i)) != '.' && read != '[') {
+					++i;
+				}
+				if (i == start) {
+					throw new IllegalArgumentException("The path " + expression + " contains an empty name at index " + start + '!');
+				}
+				names.add(expression.substring(start, i));
+				indexes.add(-1);
+			} else if (read == '[' && i + 1 < length && (expression.charAt(i + 1) == '\'' || expression.charAt(i + 1) == '"')) {
+				final char quote = expression.charAt(i + 1);
+				final StringBuilder name = new StringBuilder();
+				
+				// Read until the quote that closes the name, a backslash escapes the character that follows it.
+				for (i += 2; i < length && (read = expression.charAt(i)) != quote; ++i) {
+					if (read == '\\' && i + 1 < length) {
+						read = expression.charAt(++i);
+					}
+					name.append(read);
+				}
+				if (i + 1 >= length || expression.charAt(i + 1) != ']') {
+					throw new IllegalArgumentException("The path " + expression + " contains a name that is not closed!");
+				}
+				i += 2;
+				names.add(name.toString());
+				indexes.add(-1);
+			} else if (read == '[') {
+				final int start = ++i;
+				
+				while (i < length && (read = expression.charAt(i)) >= '0' && read <= '9') {
+					++i;
+				}
+				if (i == start || i == length || read != ']' || i - start > 9) {
+					throw new IllegalArgumentException("The path " + expression + " contains an invalid index at index " + start + '!');
+				}
+				names.add(null);
+				indexes.add(Integer.parseInt(expression, start, i++, 10));
+			} else {
+				throw new IllegalArgumentException("The path " + expression + " contains an unexpected character at index " + i + '!');
+			}
+		}
+		return new JSONPath(expression, names, indexes);
+	}
+	
+	/**
+	 * Evaluates this path against an object implementing {@link CharSequence}.
+	 * <p>The returned value refers to the characters of {@code json}, which are not copied.</p>
+	 * 
+	 * @param json - the sequence of characters that will be read.
+	 * @return {@link JSONValue} that was selected by this path, null if there is no such value.
+	 * @throws JSONParseException if the text read on the way to the value is not valid.
+	 */
+	public JSONValue evaluate(final CharSequence json) {
+		final int readable = json.length() - 1; // The maximum index that can be read from.
+		final int lower = JSONParser.skipWhitespace(json, 0, readable);
+		
+		if (lower > readable) {
+			throw new JSONParseException("There was no JSON value found in the input json!");
+		}
+		int i = lower;
+		
+		for (int step = 0; step < this.names.length; ++step) {
+			i = this.names[step] == null ? JSONPath.element(json, i, readable, this.indexes[step]) : this.field(json, i, readable, step);
+			
+			// The value is not there, nothing that follows has to be read.
+			if (i == -1) {
+				return null;
+			}
+		}
+		return new JSONValue(json, i, JSONParser.skipValue(json, i, readable));
+	}
+	
+	/**
+	 * Evaluates this path against UTF-8 encoded bytes, which are read in place without being decoded.
+	 * 
+	 * @param json - the bytes that will be read.
+	 * @return {@link JSONValue} that was selected by this path, null if there is no such value.
+	 * @throws JSONParseException if the text read on the way to the value is not valid.
+	 * 
+	 * @see JSONPath#evaluate(CharSequence)
+	 */
+	public JSONValue evaluate(final byte[] json) {
+		return this.evaluate(new UTF8Sequence(json));
+	}
+	
+	/**
+	 * Evaluates this path against a {@link File}.
+	 * 
+	 * @param file - the file that will be read.
+	 * @return {@link JSONValue} that was selected by this path, null if there is no such value.
+	 * @throws JSONParseException if the file was not found or the text read on the way to the value is not valid.
+	 * 
+	 * @see JSONPath#evaluate(Path)
+	 */
+	public JSONValue evaluate(final File file) {
+		return this.evaluate(file.toPath());
+	}
+	
+	/**
+	 * Evaluates this path against a UTF-8 encoded file of any size.
+	 * <p>The file is mapped to memory in chunks and walked with {@code long} offsets, only the pages up to the selected value are read.
+	 * The selected value is then mapped on its own and read in place, the same way as by {@link JSONParser#parseObject(Path)},
+	 * so a value can be navigated to in a file that is far larger than the heap.</p>
+	 * 
+	 * @param path - the path of the file that will be read.
+	 * @return {@link JSONValue} that was selected by this path, null if there is no such value.
+	 * @throws JSONParseException if the file was not found, the selected value is larger than {@link Integer#MAX_VALUE} bytes or the text read on the way to the value is not valid.
+	 */
+	public JSONValue evaluate(final Path path) {
+		try (final MappedFile file = new MappedFile(path)) {
+			final long readable = file.size() - 1; // The maximum offset that can be read from.
+			final long lower = file.skipWhitespace(0, readable);
+			
+			if (lower > readable) {
+				throw new JSONParseException("There was no JSON value found in the input json!");
+			}
+			long i = lower;
+			
+			for (int step = 0; step < this.names.length; ++step) {
+				i = this.names[step] == null ? JSONPath.element(file, i, readable, this.indexes[step]) : this.field(file, i, readable, step);
+				
+				if (i == -1) {
+					return null;
+				}
+			}
+			final UTF8Sequence json = file.map(i, file.skipValue(i, readable));
+			return new JSONValue(json, 0, json.length());
+		} catch (IOException e) {
+			throw new JSONParseException("The file could not be parsed!", e);
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return this.expression;
+	}
+	
+	// Return the index of the value of the name of the given step within the JSON object at index i, -1 if there is none.
+	private int field(final CharSequence json, int i, final int readable, final int step) {
+		if (json.charAt(i) != '{') {
+			return -1;
+		}
+		final String name = json instanceof UTF8Sequence ? this.encodedNames[step] : this.names[step];
+		
+		while (true) {
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			char read = json.charAt(i);
+			
+			if (read == '}') {
+				return -1;
+			}
+			if (read != '"') {
+				throw new JSONParseException("Expected the name of a value at index " + i + '!');
+			}
+			final int nameLower = i + 1, nameUpper = JSONParser.skipString(json, i, readable) - 1;
+			
+			i = JSONParser.skipWhitespace(json, nameUpper + 1, readable);
+			
+			if (i > readable || json.charAt(i) != ':') {
+				throw new JSONParseException("Expected a colon (':') after the name at index " + nameLower + '!');
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			if (this.matches(json, nameLower, nameUpper, name, step)) {
+				return i;
+			}
+			// The value of any other name is skipped without being read.
+			i = JSONParser.skipWhitespace(json, JSONParser.skipValue(json, i, readable), readable);
+			
+			if (i > readable || (read = json.charAt(i)) != ',' && read != '}') {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			if (read == '}') {
+				return -1;
+			}
+		}
+	}
+	
+	// Return the index of the element at the given index within the JSON array at index i, -1 if there is none.
+	private static int element(final CharSequence json, int i, final int readable, final int index) {
+		if (json.charAt(i) != '[') {
+			return -1;
+		}
+		i = JSONParser.skipWhitespace(json, i + 1, readable);
+		
+		if (i > readable) {
+			throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+		}
+		if (json.charAt(i) == ']') {
+			return -1;
+		}
+		for (int k = 0; k != index; ++k) {
+			// The elements before the selected one are skipped without being read.
+			i = JSONParser.skipWhitespace(json, JSONParser.skipValue(json, i, readable), readable);
+			
+			final char read;
+			
+			if (i > readable || (read = json.charAt(i)) != ',' && read != ']') {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+			if (read == ']') {
+				return -1;
+			}
+			i = JSONParser.skipWhitespace(json, i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+		}
+		return i;
+	}
+	
+	// The same as field(CharSequence, int, int, int), but with the offsets of a file.
+	private long field(final MappedFile file, long i, final long readable, final int step) {
+		if (file.charAt(i) != '{') {
+			return -1;
+		}
+		while (true) {
+			i = file.skipWhitespace(i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			char read = file.charAt(i);
+			
+			if (read == '}') {
+				return -1;
+			}
+			if (read != '"') {
+				throw new JSONParseException("Expected the name of a value at offset " + i + '!');
+			}
+			final long nameLower = i + 1, nameUpper = file.skipString(i, readable) - 1;
+			
+			i = file.skipWhitespace(nameUpper + 1, readable);
+			
+			if (i > readable || file.charAt(i) != ':') {
+				throw new JSONParseException("Expected a colon (':') after the name at offset " + nameLower + '!');
+			}
+			i = file.skipWhitespace(i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			if (this.matches(file, nameLower, nameUpper, step)) {
+				return i;
+			}
+			i = file.skipWhitespace(file.skipValue(i, readable), readable);
+			
+			if (i > readable || (read = file.charAt(i)) != ',' && read != '}') {
+				throw new JSONParseException("Curly braces ('{', '}') are not balanced!");
+			}
+			if (read == '}') {
+				return -1;
+			}
+		}
+	}
+	
+	// The same as element(CharSequence, int, int, int), but with the offsets of a file.
+	private static long element(final MappedFile file, long i, final long readable, final int index) {
+		if (file.charAt(i) != '[') {
+			return -1;
+		}
+		i = file.skipWhitespace(i + 1, readable);
+		
+		if (i > readable) {
+			throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+		}
+		if (file.charAt(i) == ']') {
+			return -1;
+		}
+		for (int k = 0; k != index; ++k) {
+			i = file.skipWhitespace(file.skipValue(i, readable), readable);
+			
+			final char read;
+			
+			if (i > readable || (read = file.charAt(i)) != ',' && read != ']') {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+			if (read == ']') {
+				return -1;
+			}
+			i = file.skipWhitespace(i + 1, readable);
+			
+			if (i > readable) {
+				throw new JSONParseException("Brackets ('[', ']') are not balanced!");
+			}
+		}
+		return i;
+	}
+	
+	// Compare the name from offsets lower to upper of a file with the name of the given step.
+	private boolean matches(final MappedFile file, final long lower, final long upper, final int step) {
+		final String name = this.encodedNames[step];
+		
+		for (long i = lower; i < upper; ++i) {
+			// An escaped name is mapped on its own and compared once it is unescaped, which is rare enough.
+			if (file.charAt(i) == '\\') {
+				return this.matches(file.map(lower, upper), 0, (int) (upper - lower), name, step);
+			}
+		}
+		if (upper - lower != name.length()) {
+			return false;
+		}
+		for (long i = lower; i < upper; ++i) {
+			if (file.charAt(i) != name.charAt((int) (i - lower))) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	// Compare the name from bounds lower to upper with the name of the given step, without materializing it.
+	private boolean matches(final CharSequence json, final int lower, final int upper, final String name, final int step) {
+		if (JSONPath.indexOf(json, lower, upper, '\\') != -1) {
+			// An escaped name is only compared once it is unescaped, which is rare enough to materialize it.
+			final String text = json instanceof UTF8Sequence ? ((UTF8Sequence) json).decode(lower, upper) : json.subSequence(lower, upper).toString();
+			return JSONUtils.unescapeAsString(text).equals(this.names[step]);
+		}
+		if (upper - lower != name.length()) {
+			return false;
+		}
+		for (int i = lower; i < upper; ++i) {
+			if (json.charAt(i) != name.charAt(i - lower)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static int indexOf(final CharSequence json, final int lower, final int upper, final char character) {
+		for (int i = lower; i < upper; ++i) {
+			if (json.charAt(i) == character) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,130 @@
+package org.lightweight.json;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * The names of the values of a JSON object that are parsed by {@link JSONParser#parseObject(CharSequence, JSONProjection)},
+ * the values of any other name are skipped.
+ * <p>The names are looked up by the hash code and the characters of a name in the text it is stored in, so the names of the
+ * parsed text are never materialized. A projection is immutable, it is meant to be created once and shared by every parse.</p>
+ */
+public class JSONProjection {
+	private final String[] names;
+	
+	// The names and their hash codes as they are stored in a UTF8Sequence, the same arrays if every name is ASCII.
+	private final String[] encodedNames;
+	private final int[] hashes, encodedHashes;
+	
+	// The open addressing tables of the names, a slot holds the index of a name plus one, zero if the slot is empty.
+	private final int[] table, encodedTable;
+	
+	public JSONProjection(final String... names) {
+		this.names = new LinkedHashSet<>(Arrays.asList(names)).toArray(new String[0]);
+		this.hashes = new int[this.names.length];
+		
+		boolean ascii = true;
+		
+		for (int i = 0; i < this.names.length; ++i) {
+			this.hashes[i] = this.names[i].hashCode();
+			ascii &= UTF8Sequence.encode(this.names[i]) == this.names[i];
+		}
+		if (ascii) {
+			this.encodedNames = this.names;
+			this.encodedHashes = this.hashes;
+		} else {
+			this.encodedNames = new String[this.names.length];
+			this.encodedHashes = new int[this.names.length];
+			
+			for (int i = 0; i < this.names.length; ++i) {
+				this.encodedNames[i] = UTF8Sequence.encode(this.names[i]);
+				this.encodedHashes[i] = this.encodedNames[i].hashCode();
+			}
+		}
+		this.table = JSONProjection.table(this.hashes);
+		this.encodedTable = ascii ? this.table : JSONProjection.table(this.encodedHashes);
+	}
+	
+	public JSONProjection(final Set<String> names) {
+		this(names.toArray(new String[0]));
+	}
+	
+	/**
+	 * @return the amount of names of this projection.
+	 */
+	public int size() {
+		return this.names.length;
+	}
+	
+	/**
+	 * @param name - the name that will be looked up.
+	 * @return true if the values of {@code name} are parsed, otherwise false.
+	 */
+	public boolean contains(final String name) {
+		return this.indexOf(name, 0, name.length(), name.hashCode()) != -1;
+	}
+	
+	/**
+	 * Looks up the name stored in the characters of {@code json} from bounds {@code lower} to {@code upper}.
+	 * 
+	 * @param json - the characters the name is stored in, the bytes themselves if it is a {@link UTF8Sequence}.
+	 * @param lower - the lower bound of the name.
+	 * @param upper - the upper bound of the name.
+	 * @param hash - the hash code of the characters of the name, computed the same way as {@link String#hashCode()}.
+	 * @return the index of the name within this projection, -1 if the name is not part of it.
+	 */
+	public int indexOf(final CharSequence json, final int lower, final int upper, final int hash) {
+		final boolean encoded = json instanceof UTF8Sequence;
+		final int[] table = encoded ? this.encodedTable : this.table, hashes = encoded ? this.encodedHashes : this.hashes;
+		final String[] names = encoded ? this.encodedNames : this.names;
+		final int mask = table.length - 1;
+		
+		for (int slot = JSONProjection.spread(hash) & mask, name; (name = table[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+			if (hashes[name] == hash && JSONProjection.matches(names[name], json, lower, upper)) {
+				return name;
+			}
+		}
+		return -1;
+	}
+	
+	@Override
+	public String toString() {
+		return String.join(", ", this.names);
+	}
+	
+	// Build an open addressing table of the given hash codes that is at most half full.
+	private static int[] table(final int[] hashes) {
+		final int[] table = new int[Integer.highestOneBit(Math.max(hashes.length, 1) * 4 - 1)];
+		final int mask = table.length - 1;
+		
+		for (int name = 0; name < hashes.length; ++name) {
+			int slot = JSONProjection.spread(hashes[name]) & mask;
+			
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = name + 1;
+		}
+		return table;
+	}
+	
+	private static boolean matches(final String name, final CharSequence json, final int lower, final int upper) {
+		if (name.length() != upper - lower) {
+			return false;
+		}
+		for (int i = lower; i < upper; ++i) {
+			if (name.charAt(i - lower) != json.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	// Spread the higher bits of the hash code to the lower ones, since only the lower ones select the slot.
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,612 @@
+package org.lightweight.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.lightweight.json.exceptions.JSONParseException;
+import org.lightweight.json.utils.JSONNumbers;
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.SymbolTable;
+
+/**
+ * A pull parser that reads JSON incrementally through a bounded buffer, one token at a time.
+ * <p>Unlike {@link JSONParser}, the input does not have to be in memory as a whole, only the buffer and the text of the
+ * current name or value are kept. Reading can therefore start before the input has fully arrived and the memory used
+ * does not depend on the size of the input.</p>
+ * <p>Tokens are either consumed generically through {@link JSONReader#nextToken()} and {@link JSONReader#getText()},
+ * or through the methods expecting a specific token, such as {@link JSONReader#nextName()} or {@link JSONReader#nextLong()}.
+ * Several values may follow each other at the outermost level, separated by whitespace characters.</p>
+ */
+public class JSONReader implements Closeable {
+	/**
+	 * The types of the tokens of JSON.
+	 */
+	public enum Token {
+		BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+	}
+	
+	// The scopes of the stack, they describe what is expected next within a JSON structure.
+	private static final int EMPTY_DOCUMENT = 0, NONEMPTY_DOCUMENT = 1, EMPTY_OBJECT = 2, NONEMPTY_OBJECT = 3, DANGLING_NAME = 4, EMPTY_ARRAY = 5, NONEMPTY_ARRAY = 6;
+	
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	private final Reader reader;
+	private final char[] buffer;
+	private int position, limit;
+	private long offset; // The amount of characters read before the first character of the buffer.
+	
+	private int[] scopes = new int[32];
+	private int depth = 1; // The scope of the document is always at the bottom of the stack.
+	
+	private Token peeked; // The next token if it was already peeked, null otherwise.
+	private final StringBuilder text = new StringBuilder();
+	
+	// The builder the consumed characters are copied to while a value is captured, null otherwise.
+	private StringBuilder capture;
+	private int captured; // The position in the buffer from which the characters were not yet copied.
+	
+	private SymbolTable symbols; // The table the names are materialized through, null if there is none.
+	
+	public JSONReader(final Reader reader, final int bufferSize) {
+		this.reader = reader;
+		this.buffer = new char[bufferSize];
+		this.scopes[0] = EMPTY_DOCUMENT;
+	}
+	
+	public JSONReader(final Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Creates a reader of UTF-8 encoded bytes.
+	 * 
+	 * @param stream - the stream the bytes are read from.
+	 */
+	public JSONReader(final InputStream stream) {
+		this(new InputStreamReader(stream, StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Creates a reader of UTF-8 encoded bytes.
+	 * 
+	 * @param channel - the channel the bytes are read from.
+	 */
+	public JSONReader(final ReadableByteChannel channel) {
+		this(Channels.newReader(channel, StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Returns the type of the next token without consuming it.
+	 * 
+	 * @return the type of the next token.
+	 * @throws JSONParseException if the input could not be read or is not valid.
+	 */
+	public Token peek() {
+		if (this.peeked == null) {
+			this.peeked = this.advance();
+		}
+		return this.peeked;
+	}
+	
+	/**
+	 * Consumes the next token and returns its type, the text of a name or a value is then available through {@link JSONReader#getText()}.
+	 * 
+	 * @return the type of the consumed token.
+	 * @throws JSONParseException if the input could not be read or is not valid.
+	 */
+	public Token nextToken() {
+		final Token token = this.peek();
+		this.peeked = null;
+		
+		switch (token) {
+			case BEGIN_OBJECT: {
+				this.push(EMPTY_OBJECT);
+				break;
+			}
+			case BEGIN_ARRAY: {
+				this.push(EMPTY_ARRAY);
+				break;
+			}
+			case END_OBJECT:
+			case END_ARRAY: {
+				--this.depth;
+				break;
+			}
+			case NAME:
+			case STRING: {
+				this.text.setLength(0);
+				this.readString(true);
+				break;
+			}
+			case NUMBER:
+			case BOOLEAN:
+			case NULL: {
+				this.text.setLength(0);
+				this.readLiteral(true);
+				
+				// The literals of booleans and nulls are only checked once they are read.
+				if (token == Token.BOOLEAN && !JSONReader.equals(this.text, "true") && !JSONReader.equals(this.text, "false")
+						|| token == Token.NULL && !JSONReader.equals(this.text, "null")) {
+					throw this.exception("Unexpected literal " + this.text);
+				}
+				break;
+			}
+			default: {
+				break;
+			}
+		}
+		return token;
+	}
+	
+	/**
+	 * Returns the text of the last name or value consumed through {@link JSONReader#nextToken()}.
+	 * <p>The escaped characters of names and strings are unescaped, the quotes are not included.
+	 * The text is only valid until the next token is consumed.</p>
+	 * 
+	 * @return the text of the last consumed name or value.
+	 */
+	public CharSequence getText() {
+		return this.text;
+	}
+	
+	/**
+	 * @return true if the current JSON object or JSON array has another name or element.
+	 */
+	public boolean hasNext() {
+		final Token token = this.peek();
+		return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+	}
+	
+	public void beginObject() {
+		this.expect(Token.BEGIN_OBJECT);
+	}
+	
+	public void endObject() {
+		this.expect(Token.END_OBJECT);
+	}
+	
+	public void beginArray() {
+		this.expect(Token.BEGIN_ARRAY);
+	}
+	
+	public void endArray() {
+		this.expect(Token.END_ARRAY);
+	}
+	
+	public String nextName() {
+		this.expect(Token.NAME);
+		
+		final SymbolTable symbols = this.symbols;
+		return symbols != null ? symbols.intern(this.text, 0, this.text.length(), JSONUtils.hash(this.text, 0, this.text.length())) : this.text.toString();
+	}
+	
+	public String nextString() {
+		this.expect(Token.STRING);
+		return this.text.toString();
+	}
+	
+	public boolean nextBoolean() {
+		this.expect(Token.BOOLEAN);
+		return this.text.length() == 4; // The literal was checked, so it is either "true" or "false".
+	}
+	
+	public void nextNull() {
+		this.expect(Token.NULL);
+	}
+	
+	public int nextInt() {
+		this.expect(Token.NUMBER);
+		
+		try {
+			return Integer.parseInt(this.text, 0, this.text.length(), 10);
+		} catch (NumberFormatException e) {
+			throw this.exception("The number " + this.text + " is not an integer", e);
+		}
+	}
+	
+	public long nextLong() {
+		this.expect(Token.NUMBER);
+		
+		try {
+			return Long.parseLong(this.text, 0, this.text.length(), 10);
+		} catch (NumberFormatException e) {
+			throw this.exception("The number " + this.text + " is not a long", e);
+		}
+	}
+	
+	public double nextDouble() {
+		this.expect(Token.NUMBER);
+		
+		try {
+			return JSONNumbers.parseDouble(this.text, 0, this.text.length());
+		} catch (NumberFormatException e) {
+			throw this.exception("The number " + this.text + " is not a double", e);
+		}
+	}
+	
+	/**
+	 * Consumes the next value, including all of its nested values, without keeping any of its text.
+	 * If the next token is a name, the name and its value are consumed.
+	 * 
+	 * @throws JSONParseException if the input could not be read or is not valid.
+	 */
+	public void skipValue() {
+		int count = 0;
+		
+		// A name is skipped together with its value.
+		if (this.peek() == Token.NAME) {
+			this.peeked = null;
+			this.readString(false);
+		}
+		
+		do {
+			final Token token = this.peek();
+			this.peeked = null;
+			
+			switch (token) {
+				case BEGIN_OBJECT: {
+					this.push(EMPTY_OBJECT);
+					++count;
+					break;
+				}
+				case BEGIN_ARRAY: {
+					this.push(EMPTY_ARRAY);
+					++count;
+					break;
+				}
+				case END_OBJECT:
+				case END_ARRAY: {
+					// A value cannot be skipped once its structure has ended.
+					if (count == 0) {
+						throw this.exception("Expected a value but was " + token);
+					}
+					--this.depth;
+					--count;
+					break;
+				}
+				case NAME: {
+					this.readString(false);
+					continue;
+				}
+				case STRING: {
+					this.readString(false);
+					break;
+				}
+				case END_DOCUMENT: {
+					throw this.exception("Expected a value but was " + token);
+				}
+				default: {
+					this.readLiteral(false);
+					break;
+				}
+			}
+		} while (count != 0);
+	}
+	
+	/**
+	 * Consumes the next value, including all of its nested values, and appends its JSON text to {@code builder}.
+	 * <p>The text is copied as it was read, except for the whitespace characters that precede the value.</p>
+	 * 
+	 * @param builder - the {@link StringBuilder} the text of the value is appended to.
+	 * @throws JSONParseException if the input could not be read or is not valid, or if the next token is not a value.
+	 */
+	public void nextValue(final StringBuilder builder) {
+		final Token token = this.peek();
+		
+		if (token == Token.NAME || token == Token.END_OBJECT || token == Token.END_ARRAY || token == Token.END_DOCUMENT) {
+			throw this.exception("Expected a value but was " + token);
+		}
+		// The first character of JSON structures and strings was already consumed by peeking.
+		this.captured = token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY || token == Token.STRING ? this.position - 1 : this.position;
+		this.capture = builder;
+		
+		try {
+			this.skipValue();
+			builder.append(this.buffer, this.captured, this.position - this.captured);
+		} finally {
+			this.capture = null;
+		}
+	}
+	
+	/**
+	 * @return the amount of JSON structures the next token is nested in.
+	 */
+	public int getDepth() {
+		return this.depth - 1;
+	}
+	
+	/**
+	 * @return the amount of characters that were consumed so far.
+	 */
+	public long getPosition() {
+		return this.offset + this.position;
+	}
+	
+	/**
+	 * Sets the table through which {@link JSONReader#nextName()} materializes the names, so a name that was read before,
+	 * by any reader or component sharing the table, is not materialized again.
+	 * 
+	 * @param symbols - the table the names are materialized through, null to materialize every name anew.
+	 * @return this reader.
+	 */
+	public JSONReader setSymbolTable(final SymbolTable symbols) {
+		this.symbols = symbols;
+		return this;
+	}
+	
+	/**
+	 * @return the table the names are materialized through, null if there is none.
+	 */
+	public SymbolTable getSymbolTable() {
+		return this.symbols;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+	
+	private void expect(final Token expected) {
+		final Token token = this.peek();
+		
+		if (token != expected) {
+			throw this.exception("Expected " + expected + " but was " + token);
+		}
+		this.nextToken();
+	}
+	
+	private void push(final int scope) {
+		if (this.depth == this.scopes.length) {
+			this.scopes = Arrays.copyOf(this.scopes, this.depth << 1);
+		}
+		this.scopes[this.depth++] = scope;
+	}
+	
+	// Read what comes before the next token and return its type, the opening quote of names and strings is consumed.
+	private Token advance() {
+		final int scope = this.scopes[this.depth - 1];
+		int read;
+		
+		switch (scope) {
+			case EMPTY_ARRAY:
+			case NONEMPTY_ARRAY: {
+				this.scopes[this.depth - 1] = NONEMPTY_ARRAY;
+				
+				if ((read = this.nextNonWhitespace(true)) == ']') {
+					return Token.END_ARRAY;
+				}
+				// Elements after the first one are preceded by a comma.
+				if (scope == NONEMPTY_ARRAY) {
+					if (read != ',') {
+						throw this.exception("Expected ',' or ']' but was '" + (char) read + '\'');
+					}
+				} else {
+					--this.position;
+				}
+				break;
+			}
+			case EMPTY_OBJECT:
+			case NONEMPTY_OBJECT: {
+				this.scopes[this.depth - 1] = DANGLING_NAME;
+				
+				if ((read = this.nextNonWhitespace(true)) == '}') {
+					return Token.END_OBJECT;
+				}
+				// Names after the first one are preceded by a comma.
+				if (scope == NONEMPTY_OBJECT) {
+					if (read != ',') {
+						throw this.exception("Expected ',' or '}' but was '" + (char) read + '\'');
+					}
+					read = this.nextNonWhitespace(true);
+				}
+				if (read != '"') {
+					throw this.exception("Expected a name but was '" + (char) read + '\'');
+				}
+				return Token.NAME;
+			}
+			case DANGLING_NAME: {
+				this.scopes[this.depth - 1] = NONEMPTY_OBJECT;
+				
+				if ((read = this.nextNonWhitespace(true)) != ':') {
+					throw this.exception("Expected ':' but was '" + (char) read + '\'');
+				}
+				break;
+			}
+			case EMPTY_DOCUMENT: {
+				this.scopes[this.depth - 1] = NONEMPTY_DOCUMENT;
+				break;
+			}
+			default: {
+				// Another value may follow the outermost one.
+				if (this.nextNonWhitespace(false) == -1) {
+					return Token.END_DOCUMENT;
+				}
+				--this.position;
+				break;
+			}
+		}
+		switch (read = this.nextNonWhitespace(true)) {
+			case '{': {
+				return Token.BEGIN_OBJECT;
+			}
+			case '[': {
+				return Token.BEGIN_ARRAY;
+			}
+			case '"': {
+				return Token.STRING;
+			}
+			case 't':
+			case 'f': {
+				--this.position;
+				return Token.BOOLEAN;
+			}
+			case 'n': {
+				--this.position;
+				return Token.NULL;
+			}
+			default: {
+				if (read != '-' && (read < '0' || read > '9')) {
+					throw this.exception("Expected a value but was '" + (char) read + '\'');
+				}
+				--this.position;
+				return Token.NUMBER;
+			}
+		}
+	}
+	
+	// Return the next character that is not a whitespace character, or -1 if the input has ended and required is false.
+	private int nextNonWhitespace(final boolean required) {
+		while (this.position < this.limit || this.fill()) {
+			final char read = this.buffer[this.position++];
+			
+			if (read != ' ' && read != '\n' && read != '\r' && read != '\t') {
+				return read;
+			}
+		}
+		if (required) {
+			throw this.exception("Unexpected end of input");
+		}
+		return -1;
+	}
+	
+	// Read the rest of a name or a string after its opening quote, the unescaped characters are appended to the text if keep is true.
+	private void readString(final boolean keep) {
+		while (true) {
+			// Append the characters up to the next quote or backslash at once.
+			int i = this.position;
+			
+			while (i < this.limit && this.buffer[i] != '"' && this.buffer[i] != '\\') {
+				++i;
+			}
+			if (keep) {
+				this.text.append(this.buffer, this.position, i - this.position);
+			}
+			this.position = i;
+			
+			if (i == this.limit) {
+				if (!this.fill()) {
+					throw this.exception("Quotes ('\"') are not balanced");
+				}
+				continue;
+			}
+			if (this.buffer[this.position++] == '"') {
+				return;
+			}
+			final char escaped = this.nextCharacter();
+			
+			switch (escaped) {
+				case 'b': {
+					this.append(keep, '\b');
+					break;
+				}
+				case 'f': {
+					this.append(keep, '\f');
+					break;
+				}
+				case 'n': {
+					this.append(keep, '\n');
+					break;
+				}
+				case 'r': {
+					this.append(keep, '\r');
+					break;
+				}
+				case 't': {
+					this.append(keep, '\t');
+					break;
+				}
+				case 'u': {
+					int code = 0;
+					
+					for (int j = 0; j < 4; ++j) {
+						final int digit = Character.digit(this.nextCharacter(), 16);
+						
+						if (digit < 0) {
+							throw this.exception("Invalid unicode escape sequence");
+						}
+						code = code << 4 | digit;
+					}
+					this.append(keep, (char) code);
+					break;
+				}
+				default: {
+					// The quote, the backslash and the slash are escaped as themselves.
+					this.append(keep, escaped);
+					break;
+				}
+			}
+		}
+	}
+	
+	// Read a number, a boolean or a null, the characters are appended to the text if keep is true.
+	private void readLiteral(final boolean keep) {
+		while (this.position < this.limit || this.fill()) {
+			final char read = this.buffer[this.position];
+			
+			if (read == ',' || read == ':' || read == '}' || read == ']' || read == ' ' || read == '\n' || read == '\r' || read == '\t') {
+				return;
+			}
+			this.append(keep, read);
+			++this.position;
+		}
+	}
+	
+	private void append(final boolean keep, final char character) {
+		if (keep) {
+			this.text.append(character);
+		}
+	}
+	
+	private char nextCharacter() {
+		if (this.position == this.limit && !this.fill()) {
+			throw this.exception("Unexpected end of input");
+		}
+		return this.buffer[this.position++];
+	}
+	
+	// Refill the buffer once all of its characters were consumed, return false if the input has ended.
+	private boolean fill() {
+		// The characters of a captured value are copied before they are overwritten.
+		if (this.capture != null) {
+			this.capture.append(this.buffer, this.captured, this.limit - this.captured);
+			this.captured = 0;
+		}
+		this.offset += this.limit;
+		this.position = this.limit = 0;
+		
+		try {
+			int read;
+			
+			// A reader may return no characters without having reached the end of its input.
+			while ((read = this.reader.read(this.buffer, 0, this.buffer.length)) == 0) {
+				continue;
+			}
+			if (read > 0) {
+				this.limit = read;
+				return true;
+			}
+			return false;
+		} catch (IOException e) {
+			throw new JSONParseException("The input could not be read!", e);
+		}
+	}
+	
+	private JSONParseException exception(final String message) {
+		return new JSONParseException(message + " at position " + this.getPosition() + '!');
+	}
+	
+	private JSONParseException exception(final String message, final Throwable cause) {
+		return new JSONParseException(message + " at position " + this.getPosition() + '!', cause);
+	}
+	
+	private static boolean equals(final CharSequence text, final String literal) {
+		return literal.contentEquals(text);
+	}
+}
\ No newline at end of file
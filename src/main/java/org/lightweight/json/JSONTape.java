@@ -0,0 +1,134 @@
+package org.lightweight.json;
+
+import java.util.Arrays;
+
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.exceptions.JSONParseException;
+
+/**
+ * A flat structural index of a JSON document, built in a single pass by {@link JSONParser#index(CharSequence)}.
+ * <p>Every value of the document (including the names of the values of JSON objects) is an entry of the tape,
+ * the entries are stored in the order they appear in the document. An entry holds the bounds of the value and the
+ * index of the entry that follows the value and all of its nested values, which allows skipping over a JSON object
+ * or a JSON array without reading it. The type of an entry is given by the first character of the value.</p>
+ * <p>Components navigated from an indexed component read the tape instead of scanning the characters again.</p>
+ */
+public class JSONTape {
+	// The layout of an entry in the entries table.
+	private static final int LOWER = 0, UPPER = 1, NEXT = 2, ENTRY = 3;
+	
+	private final CharSequence json;
+	
+	// The entries in document order, ENTRY values per entry.
+	private int[] entries = new int[16 * ENTRY];
+	private int size;
+	
+	JSONTape(final CharSequence json) {
+		this.json = json;
+	}
+	
+	// Add the entry of a JSON object or a JSON array whose bounds and next entry are set once it is closed.
+	int open(final int lower) {
+		return this.add(lower, -1, -1);
+	}
+	
+	// Set the upper bound of a JSON object or a JSON array, the entry that follows it is the next one to be added.
+	void close(final int entry, final int upper) {
+		this.entries[entry * ENTRY + UPPER] = upper;
+		this.entries[entry * ENTRY + NEXT] = this.size;
+	}
+	
+	// Add the entry of a string or a primitive value.
+	int value(final int lower, final int upper) {
+		return this.add(lower, upper, this.size + 1);
+	}
+	
+	private int add(final int lower, final int upper, final int next) {
+		final int offset = this.size * ENTRY;
+		
+		// Double the capacity of the table once it is full.
+		if (offset == this.entries.length) {
+			this.entries = Arrays.copyOf(this.entries, offset << 1);
+		}
+		this.entries[offset + LOWER] = lower;
+		this.entries[offset + UPPER] = upper;
+		this.entries[offset + NEXT] = next;
+		
+		return this.size++;
+	}
+	
+	/**
+	 * @return the characters the bounds of the entries refer to.
+	 */
+	public CharSequence getJSON() {
+		return this.json;
+	}
+	
+	/**
+	 * @return the amount of entries in this tape.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @param entry - the index of the entry.
+	 * @return the lower bound of the value of {@code entry}.
+	 */
+	public int getLower(final int entry) {
+		return this.entries[entry * ENTRY + LOWER];
+	}
+	
+	/**
+	 * @param entry - the index of the entry.
+	 * @return the upper bound of the value of {@code entry}.
+	 */
+	public int getUpper(final int entry) {
+		return this.entries[entry * ENTRY + UPPER];
+	}
+	
+	/**
+	 * @param entry - the index of the entry.
+	 * @return the index of the entry that follows the value of {@code entry} and all of its nested values.
+	 */
+	public int getNext(final int entry) {
+		return this.entries[entry * ENTRY + NEXT];
+	}
+	
+	/**
+	 * @param entry - the index of the entry.
+	 * @return the first character of the value of {@code entry}, either '{', '[', '"' or the first character of a primitive value.
+	 */
+	public char getType(final int entry) {
+		return this.json.charAt(this.entries[entry * ENTRY + LOWER]);
+	}
+	
+	/**
+	 * Creates the {@link JSONObject} of {@code entry} from the entries of its values, no characters are read except for the names.
+	 * 
+	 * @param entry - the index of the entry.
+	 * @return the {@link JSONObject} of {@code entry}.
+	 * @throws JSONParseException if the value of {@code entry} is not a JSON object.
+	 */
+	public JSONObject getAsJSONObject(final int entry) {
+		if (this.getType(entry) != '{') {
+			throw new JSONParseException("There was no JSON object found in the input json from bounds " + this.getLower(entry) + " to " + this.getUpper(entry) + '!');
+		}
+		return new JSONObject(this, entry);
+	}
+	
+	/**
+	 * Creates the {@link JSONArray} of {@code entry} from the entries of its elements, no characters are read.
+	 * 
+	 * @param entry - the index of the entry.
+	 * @return the {@link JSONArray} of {@code entry}.
+	 * @throws JSONParseException if the value of {@code entry} is not a JSON array.
+	 */
+	public JSONArray getAsJSONArray(final int entry) {
+		if (this.getType(entry) != '[') {
+			throw new JSONParseException("There was no JSON array found in the input json from bounds " + this.getLower(entry) + " to " + this.getUpper(entry) + '!');
+		}
+		return new JSONArray(this, entry);
+	}
+}
\ No newline at end of file
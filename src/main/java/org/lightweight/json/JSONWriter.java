@@ -0,0 +1,343 @@
+package org.lightweight.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * A writer that encodes JSON as UTF-8 one token at a time, without building the text in memory first.
+ * <p>Names and values are escaped and encoded straight into a reused buffer, which is written to the stream or the channel
+ * once it is full, when the writer is flushed or when it is closed. The memory used therefore does not depend on the size
+ * of the output. Several values may be written at the outermost level, they are separated by line feeds.</p>
+ * <p>The order of the tokens is checked, writing a token where it is not allowed throws an {@link IllegalStateException}.</p>
+ * 
+ * @see JSONReader
+ */
+public class JSONWriter implements Closeable, Flushable {
+	// The scopes of the stack, they describe what is expected next within a JSON structure.
+	private static final int EMPTY_DOCUMENT = 0, NONEMPTY_DOCUMENT = 1, EMPTY_OBJECT = 2, NONEMPTY_OBJECT = 3, DANGLING_NAME = 4, EMPTY_ARRAY = 5, NONEMPTY_ARRAY = 6;
+	
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+	
+	// The longest sequence of bytes a single character is written as, the escape sequence of a control character.
+	private static final int LONGEST_CHARACTER = 6;
+	
+	// The longest sequence of bytes a long is written as, 19 digits and a sign, the buffer holds at least that many.
+	private static final int LONGEST_NUMBER = 20;
+	
+	private static final byte[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+	
+	// The sink the buffer is drained to, exactly one of them is not null.
+	private final OutputStream stream;
+	private final WritableByteChannel channel;
+	private final ByteBuffer target;
+	
+	private final byte[] buffer;
+	private final ByteBuffer wrapper; // A view of the buffer, used to write it to the channel or the target.
+	private int position;
+	
+	private int[] scopes = new int[32];
+	private int depth = 1; // The scope of the document is always at the bottom of the stack.
+	
+	private JSONWriter(final OutputStream stream, final WritableByteChannel channel, final ByteBuffer target, final int bufferSize) {
+		this.stream = stream;
+		this.channel = channel;
+		this.target = target;
+		this.buffer = new byte[Math.max(bufferSize, LONGEST_NUMBER)];
+		this.wrapper = ByteBuffer.wrap(this.buffer);
+		this.scopes[0] = EMPTY_DOCUMENT;
+	}
+	
+	public JSONWriter(final OutputStream stream, final int bufferSize) {
+		this(stream, null, null, bufferSize);
+	}
+	
+	public JSONWriter(final OutputStream stream) {
+		this(stream, DEFAULT_BUFFER_SIZE);
+	}
+	
+	public JSONWriter(final WritableByteChannel channel, final int bufferSize) {
+		this(null, channel, null, bufferSize);
+	}
+	
+	public JSONWriter(final WritableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * Creates a writer that puts the encoded bytes into {@code target}, starting at its position.
+	 * 
+	 * @param target - the buffer the bytes are put into, a {@link java.nio.BufferOverflowException} is thrown once it is full.
+	 */
+	public JSONWriter(final ByteBuffer target) {
+		this(null, null, target, DEFAULT_BUFFER_SIZE);
+	}
+	
+	public JSONWriter beginObject() throws IOException {
+		this.beforeValue();
+		this.push(EMPTY_OBJECT);
+		this.write('{');
+		
+		return this;
+	}
+	
+	public JSONWriter endObject() throws IOException {
+		return this.end(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+	}
+	
+	public JSONWriter beginArray() throws IOException {
+		this.beforeValue();
+		this.push(EMPTY_ARRAY);
+		this.write('[');
+		
+		return this;
+	}
+	
+	public JSONWriter endArray() throws IOException {
+		return this.end(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+	}
+	
+	/**
+	 * Writes the name of the next value of the current JSON object, its characters are escaped.
+	 * 
+	 * @param name - the name that will be written.
+	 * @return this writer.
+	 * @throws IOException if the buffer could not be drained.
+	 * @throws IllegalStateException if the current scope is not a JSON object expecting a name.
+	 */
+	public JSONWriter name(final CharSequence name) throws IOException {
+		final int scope = this.scopes[this.depth - 1];
+		
+		if (scope == NONEMPTY_OBJECT) {
+			this.write(',');
+		} else if (scope != EMPTY_OBJECT) {
+			throw new IllegalStateException("A name can only be written within a JSON object, before its value!");
+		}
+		this.scopes[this.depth - 1] = DANGLING_NAME;
+		this.string(name);
+		
+		return this;
+	}
+	
+	/**
+	 * Writes a string, its characters are escaped.
+	 * 
+	 * @param value - the string that will be written, null is written as a null value.
+	 * @return this writer.
+	 * @throws IOException if the buffer could not be drained.
+	 */
+	public JSONWriter value(final CharSequence value) throws IOException {
+		if (value == null) {
+			return this.nullValue();
+		}
+		this.beforeValue();
+		this.string(value);
+		
+		return this;
+	}
+	
+	public JSONWriter value(final boolean value) throws IOException {
+		this.beforeValue();
+		this.ascii(value ? "true" : "false");
+		
+		return this;
+	}
+	
+	public JSONWriter nullValue() throws IOException {
+		this.beforeValue();
+		this.ascii("null");
+		
+		return this;
+	}
+	
+	public JSONWriter value(final long value) throws IOException {
+		this.beforeValue();
+		
+		// The digits are written from the last one to the first one.
+		if (this.buffer.length - this.position < LONGEST_NUMBER) {
+			this.drain();
+		}
+		long remaining = value;
+		int length = 1;
+		
+		while ((remaining /= 10) != 0) {
+			++length;
+		}
+		if (value < 0) {
+			this.buffer[this.position++] = '-';
+		}
+		remaining = value;
+		
+		for (int i = this.position + length - 1; i >= this.position; --i) {
+			this.buffer[i] = (byte) ('0' + Math.abs(remaining % 10));
+			remaining /= 10;
+		}
+		this.position += length;
+		
+		return this;
+	}
+	
+	/**
+	 * Writes a number the same way as {@link Double#toString(double)}.
+	 * 
+	 * @param value - the number that will be written.
+	 * @return this writer.
+	 * @throws IOException if the buffer could not be drained.
+	 * @throws IllegalArgumentException if {@code value} is not finite, which JSON cannot represent.
+	 */
+	public JSONWriter value(final double value) throws IOException {
+		if (!Double.isFinite(value)) {
+			throw new IllegalArgumentException("JSON cannot represent the number " + value + "!");
+		}
+		this.beforeValue();
+		this.ascii(Double.toString(value));
+		
+		return this;
+	}
+	
+	@Override
+	public void flush() throws IOException {
+		this.drain();
+		
+		if (this.stream != null) {
+			this.stream.flush();
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			this.drain();
+		} finally {
+			if (this.stream != null) {
+				this.stream.close();
+			} else if (this.channel != null) {
+				this.channel.close();
+			}
+		}
+	}
+	
+	// Write the separator that precedes a value in the current scope and update the scope.
+	private void beforeValue() throws IOException {
+		switch (this.scopes[this.depth - 1]) {
+			case NONEMPTY_DOCUMENT: {
+				this.write('\n');
+				break;
+			}
+			case EMPTY_DOCUMENT: {
+				this.scopes[this.depth - 1] = NONEMPTY_DOCUMENT;
+				break;
+			}
+			case NONEMPTY_ARRAY: {
+				this.write(',');
+				break;
+			}
+			case EMPTY_ARRAY: {
+				this.scopes[this.depth - 1] = NONEMPTY_ARRAY;
+				break;
+			}
+			case DANGLING_NAME: {
+				this.write(':');
+				this.scopes[this.depth - 1] = NONEMPTY_OBJECT;
+				break;
+			}
+			default: {
+				throw new IllegalStateException("A value within a JSON object must be preceded by its name!");
+			}
+		}
+	}
+	
+	private JSONWriter end(final int empty, final int nonempty, final char closing) throws IOException {
+		final int scope = this.scopes[this.depth - 1];
+		
+		if (scope != empty && scope != nonempty) {
+			throw new IllegalStateException(scope == DANGLING_NAME ? "A name must be followed by its value!" : "There is no " + (closing == '}' ? "JSON object" : "JSON array") + " to end!");
+		}
+		--this.depth;
+		this.write(closing);
+		
+		return this;
+	}
+	
+	private void push(final int scope) {
+		if (this.depth == this.scopes.length) {
+			this.scopes = Arrays.copyOf(this.scopes, this.depth << 1);
+		}
+		this.scopes[this.depth++] = scope;
+	}
+	
+	// Write the characters of text enclosed in quotes, escaping the special characters with the escape sequences of JSONUtils#escaped(char).
+	private void string(final CharSequence text) throws IOException {
+		this.write('"');
+		
+		for (int i = 0, length = text.length(); i < length; ++i) {
+			if (this.buffer.length - this.position < LONGEST_CHARACTER) {
+				this.drain();
+			}
+			final char read = text.charAt(i), escaped = JSONUtils.escaped(read);
+			
+			if (escaped == 0) {
+				final int written = UTF8Sequence.encode(text, i, length, this.buffer, this.position);
+				
+				this.position += written;
+				
+				// The low surrogate of a pair was encoded along with the high one.
+				if (written == 4) {
+					++i;
+				}
+			} else {
+				this.buffer[this.position++] = '\\';
+				this.buffer[this.position++] = (byte) escaped;
+				
+				// The control characters without a short escape sequence are written as their four hexadecimal digits.
+				if (escaped == 'u') {
+					this.buffer[this.position++] = '0';
+					this.buffer[this.position++] = '0';
+					this.buffer[this.position++] = HEX[read >> 4];
+					this.buffer[this.position++] = HEX[read & 0xF];
+				}
+			}
+		}
+		this.write('"');
+	}
+	
+	// Write the characters of text, which are all ASCII characters.
+	private void ascii(final String text) throws IOException {
+		for (int i = 0, length = text.length(); i < length; ++i) {
+			this.write(text.charAt(i));
+		}
+	}
+	
+	// Write an ASCII character.
+	private void write(final char character) throws IOException {
+		if (this.position == this.buffer.length) {
+			this.drain();
+		}
+		this.buffer[this.position++] = (byte) character;
+	}
+	
+	// Write the encoded bytes of the buffer to the sink.
+	private void drain() throws IOException {
+		if (this.stream != null) {
+			this.stream.write(this.buffer, 0, this.position);
+		} else {
+			this.wrapper.clear().limit(this.position);
+			
+			if (this.channel != null) {
+				while (this.wrapper.hasRemaining()) {
+					this.channel.write(this.wrapper);
+				}
+			} else {
+				this.target.put(this.wrapper);
+			}
+		}
+		this.position = 0;
+	}
+}
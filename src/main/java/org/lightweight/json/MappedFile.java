@@ -0,0 +1,169 @@
+package org.lightweight.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.lightweight.json.exceptions.JSONParseException;
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * A UTF-8 encoded file that is mapped to memory in chunks as they are first accessed, so that it can be read with {@code long} offsets whatever its size.
+ * <p>Like {@link UTF8Sequence#charAt(int)}, {@link MappedFile#charAt(long)} returns the bytes themselves. The values found in the
+ * file are handed out as {@link UTF8Sequence}s over a mapping of only their own bytes, which is what lets the components that
+ * keep {@code int} bounds refer to a value of a file larger than {@link Integer#MAX_VALUE} bytes.</p>
+ */
+class MappedFile implements Closeable {
+	// The size of a mapped chunk, a power of two so that an offset is split into a chunk and an index with a shift and a mask.
+	private static final int SHIFT = 30;
+	private static final int MASK = (1 << SHIFT) - 1;
+	
+	private final Path path;
+	private final FileChannel channel;
+	private final MappedByteBuffer[] chunks;
+	private final long size;
+	
+	/**
+	 * Opens a file, a chunk of it is only mapped once one of its bytes is accessed.
+	 * 
+	 * @param path - the path of the file that will be mapped.
+	 * @throws JSONParseException if the file was not found or could not be mapped.
+	 */
+	MappedFile(final Path path) {
+		try {
+			this.path = path;
+			this.channel = FileChannel.open(path, StandardOpenOption.READ);
+			this.size = this.channel.size();
+			this.chunks = new MappedByteBuffer[(int) ((this.size + MASK) >>> SHIFT)];
+		} catch (IOException e) {
+			throw new JSONParseException("The file could not be parsed!", e);
+		}
+	}
+	
+	/**
+	 * @return the size of the file in bytes.
+	 */
+	long size() {
+		return this.size;
+	}
+	
+	/**
+	 * @param index - the offset of the byte.
+	 * @return the byte at {@code index} as an unsigned value.
+	 */
+	char charAt(final long index) {
+		final MappedByteBuffer chunk = this.chunks[(int) (index >>> SHIFT)];
+		return (char) ((chunk != null ? chunk : this.chunk((int) (index >>> SHIFT))).get((int) index & MASK) & 0xFF);
+	}
+	
+	// Map the chunk at the given index, the chunks that are never accessed are never mapped.
+	private MappedByteBuffer chunk(final int chunk) {
+		try {
+			final long position = (long) chunk << SHIFT;
+			return this.chunks[chunk] = this.channel.map(MapMode.READ_ONLY, position, Math.min(this.size - position, MASK + 1L));
+		} catch (IOException e) {
+			throw new JSONParseException("The file could not be parsed!", e);
+		}
+	}
+	
+	/**
+	 * Maps the bytes from bounds {@code lower} to {@code upper} on their own, the mapping stays valid once the file is closed.
+	 * 
+	 * @param lower - the lower bound of the bytes.
+	 * @param upper - the upper bound of the bytes.
+	 * @return {@link UTF8Sequence} of the bytes.
+	 * @throws JSONParseException if there are more than {@link Integer#MAX_VALUE} bytes or they could not be mapped.
+	 */
+	UTF8Sequence map(final long lower, final long upper) {
+		if (upper - lower > Integer.MAX_VALUE) {
+			throw new JSONParseException("The value at offset " + lower + " of the file " + this.path.getFileName() + " is larger than " + Integer.MAX_VALUE + " bytes!");
+		}
+		try {
+			return new UTF8Sequence(this.channel.map(MapMode.READ_ONLY, lower, upper - lower));
+		} catch (IOException e) {
+			throw new JSONParseException("The file could not be parsed!", e);
+		}
+	}
+	
+	// The scans below mirror the ones of JSONParser with long offsets, readable is the maximum offset that can be read from.
+	// Strings are read forward and skipped as a whole, so no character is ever read twice.
+	
+	// Return the offset of the character that closes the JSON structure opened at offset i.
+	long skipStructure(long i, final long readable) {
+		int depth = 0;
+		
+		do {
+			if (i > readable) {
+				throw new JSONParseException("Curly braces ('{', '}') or brackets ('[', ']') are not balanced!");
+			}
+			final char read = this.charAt(i);
+			
+			if (read == '"') {
+				i = this.skipString(i, readable);
+				continue;
+			}
+			if (read == '{' || read == '[') {
+				++depth;
+			} else if (read == '}' || read == ']') {
+				--depth;
+			}
+			++i;
+		} while (depth != 0);
+		
+		return i - 1;
+	}
+	
+	// Return the offset that follows the value at offset i, the value itself is not read.
+	long skipValue(long i, final long readable) {
+		final char read = this.charAt(i);
+		
+		if (read == '{' || read == '[') {
+			return this.skipStructure(i, readable) + 1;
+		}
+		if (read == '"') {
+			return this.skipString(i, readable);
+		}
+		char next;
+		
+		while (i != readable && !JSONUtils.isWhitespace(next = this.charAt(i + 1)) && next != ',' && next != '}' && next != ']') {
+			++i;
+		}
+		return i + 1;
+	}
+	
+	// Return the offset that follows the quote closing the string opened at offset i.
+	long skipString(long i, final long readable) {
+		while (true) {
+			if (i >= readable) {
+				throw new JSONParseException("Quotes ('\"') are not balanced!");
+			}
+			final char read = this.charAt(++i);
+			
+			if (read == '"') {
+				return i + 1;
+			}
+			// A backslash escapes the character that follows it, which is skipped with it.
+			if (read == '\\') {
+				++i;
+			}
+		}
+	}
+	
+	// Return the offset of the first character from offset i on that is not a whitespace character, readable + 1 if there is none.
+	long skipWhitespace(long i, final long readable) {
+		while (i <= readable && JSONUtils.isWhitespace(this.charAt(i))) {
+			++i;
+		}
+		return i;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+}
@@ -0,0 +1,222 @@
+package org.lightweight.json;
+
+import java.util.Arrays;
+
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * Finds the structural characters of a JSON document in blocks of 64 characters, which is the first stage of {@link JSONParser#index(CharSequence)}.
+ * <p>Every block is classified into bitmasks of backslashes, quotes, structural characters and whitespace characters,
+ * one bit per character. The escaped characters, the characters inside strings and the first characters of primitive values
+ * are then derived from these bitmasks with a few arithmetic operations per block, carrying the state over from one block to
+ * the next, so no character is ever looked at twice and no branch depends on the characters themselves.</p>
+ * <p>The positions of the structural characters, the quotes of the strings and the first characters of the primitive values
+ * are recorded in document order.</p>
+ * <p>Only the indexing into a {@link JSONTape} is driven by this scanner, the lazy parsers of {@link JSONParser} still read the
+ * characters one at a time.</p>
+ */
+class StructuralScanner {
+	static final int BLOCK = 64;
+	
+	// The amount of characters copied at once from the input, a whole number of blocks.
+	private static final int WINDOW = 64 * BLOCK;
+	
+	// Every bit set at an even position.
+	private static final long EVEN = 0x5555555555555555L;
+	
+	// The classes of the characters, one bit per class so that the scalar loops do not branch on the characters.
+	private static final int BACKSLASH = 1, QUOTE = 2, STRUCTURAL = 4, WHITESPACE = 8;
+	private static final byte[] CLASSES = StructuralScanner.classes();
+	
+	// The bitmasks of the current block.
+	private long backslashes, quotes, structurals, whitespaces;
+	
+	// The state carried over from the previous block.
+	private long escaped; // 1 if the first character of the block is escaped, 0 otherwise.
+	private long inside; // -1 if the block starts inside a string, 0 otherwise.
+	private long scalar; // 1 if the last character of the previous block is part of a primitive value, 0 otherwise.
+	
+	// The positions of the structural characters in document order.
+	private int[] positions = new int[256];
+	private int size;
+	
+	// Control characters are not allowed outside of strings, so they are treated as whitespace characters.
+	private static byte[] classes() {
+		final byte[] classes = new byte[0x100];
+		
+		for (int i = 0; i <= ' '; ++i) {
+			classes[i] = WHITESPACE;
+		}
+		for (final char structural : "{}[],:".toCharArray()) {
+			classes[structural] = STRUCTURAL;
+		}
+		classes['\\'] = BACKSLASH;
+		classes['"'] = QUOTE;
+		
+		return classes;
+	}
+	
+	/**
+	 * Records the positions of the structural characters of {@code json}.
+	 * 
+	 * @param json - the characters that will be scanned.
+	 * @return this scanner.
+	 */
+	StructuralScanner scan(final CharSequence json) {
+		final int length = json.length();
+		final UTF8Sequence bytes = json instanceof UTF8Sequence ? (UTF8Sequence) json : null;
+		final byte[] byteWindow = bytes != null ? new byte[WINDOW] : null;
+		final char[] charWindow = bytes == null ? new char[WINDOW] : null;
+		
+		for (int lower = 0; lower < length; lower += WINDOW) {
+			final int upper = Math.min(length, lower + WINDOW);
+			final int blocks = (upper - lower + BLOCK - 1) / BLOCK;
+			
+			// Copy the window and pad the last block with whitespace characters, which are never structural.
+			if (bytes != null) {
+				bytes.getBytes(lower, upper, byteWindow, 0);
+				Arrays.fill(byteWindow, upper - lower, blocks * BLOCK, (byte) ' ');
+			} else {
+				StructuralScanner.getChars(json, lower, upper, charWindow);
+				Arrays.fill(charWindow, upper - lower, blocks * BLOCK, ' ');
+			}
+			for (int block = 0; block < blocks; ++block) {
+				if (bytes != null) {
+					this.classify(byteWindow, block * BLOCK);
+				} else {
+					this.classify(charWindow, block * BLOCK);
+				}
+				this.record(lower + block * BLOCK);
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * @return the amount of recorded positions.
+	 */
+	int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @param index - the index of the position.
+	 * @return the position of the structural character at {@code index}.
+	 */
+	int get(final int index) {
+		return this.positions[index];
+	}
+	
+	/**
+	 * Sets the bitmasks of the block of {@code characters} starting at {@code offset}.
+	 * 
+	 * @param characters - the characters of the window.
+	 * @param offset - the index of the first character of the block.
+	 */
+	private void classify(final char[] characters, final int offset) {
+		long backslashes = 0, quotes = 0, structurals = 0, whitespaces = 0;
+		
+		for (int i = 0; i < BLOCK; ++i) {
+			// The characters above 0xFF all belong to no class, just like 0xFF.
+			final int classes = CLASSES[Math.min(characters[offset + i], 0xFF)];
+			
+			backslashes |= (long) (classes & BACKSLASH) << i;
+			quotes |= (long) (classes >>> 1 & 1) << i;
+			structurals |= (long) (classes >>> 2 & 1) << i;
+			whitespaces |= (long) (classes >>> 3) << i;
+		}
+		this.backslashes = backslashes;
+		this.quotes = quotes;
+		this.structurals = structurals;
+		this.whitespaces = whitespaces;
+	}
+	
+	/**
+	 * Sets the bitmasks of the block of {@code bytes} starting at {@code offset}.
+	 * 
+	 * @param bytes - the bytes of the window.
+	 * @param offset - the index of the first byte of the block.
+	 */
+	private void classify(final byte[] bytes, final int offset) {
+		long backslashes = 0, quotes = 0, structurals = 0, whitespaces = 0;
+		
+		for (int i = 0; i < BLOCK; ++i) {
+			final int classes = CLASSES[bytes[offset + i] & 0xFF];
+			
+			backslashes |= (long) (classes & BACKSLASH) << i;
+			quotes |= (long) (classes >>> 1 & 1) << i;
+			structurals |= (long) (classes >>> 2 & 1) << i;
+			whitespaces |= (long) (classes >>> 3) << i;
+		}
+		this.backslashes = backslashes;
+		this.quotes = quotes;
+		this.structurals = structurals;
+		this.whitespaces = whitespaces;
+	}
+	
+	// Derive the structural characters of the current block from its bitmasks and record their positions.
+	private void record(final int base) {
+		final long escaped = this.escaped(this.backslashes);
+		final long quotes = this.quotes & ~escaped;
+		
+		// The characters from an opening quote up to (excluding) its closing quote are inside a string.
+		final long inside = StructuralScanner.prefixXor(quotes) ^ this.inside;
+		this.inside = inside >> 63;
+		
+		// A primitive value starts at a character that is neither structural, a whitespace character nor a quote and follows one that is.
+		final long scalars = ~(this.structurals | this.whitespaces | quotes) & ~inside;
+		final long starts = scalars & ~(scalars << 1 | this.scalar);
+		this.scalar = scalars >>> 63;
+		
+		long mask = this.structurals & ~inside | quotes | starts;
+		
+		if (this.size + BLOCK > this.positions.length) {
+			this.positions = Arrays.copyOf(this.positions, Math.max(this.positions.length << 1, this.size + BLOCK));
+		}
+		while (mask != 0) {
+			this.positions[this.size++] = base + Long.numberOfTrailingZeros(mask);
+			mask &= mask - 1;
+		}
+	}
+	
+	// Return the characters escaped by a backslash, a backslash escapes the next character unless it is escaped itself.
+	private long escaped(long backslashes) {
+		// A backslash that is escaped by the last one of the previous block does not escape anything.
+		backslashes &= ~this.escaped;
+		
+		final long follows = backslashes << 1 | this.escaped;
+		
+		// Sequences of backslashes starting at odd positions are moved to even positions by the carry of the addition.
+		final long starts = backslashes & ~EVEN & ~follows;
+		final long even = starts + backslashes;
+		
+		// The addition overflows if a sequence of backslashes runs to the end of the block and escapes the first character of the next one.
+		this.escaped = Long.compareUnsigned(even, starts) < 0 ? 1 : 0;
+		
+		return (EVEN ^ even << 1) & follows;
+	}
+	
+	// Compute the prefix XOR of the bits, the bit at position i is the XOR of the bits from position 0 to i.
+	private static long prefixXor(long bits) {
+		bits ^= bits << 1;
+		bits ^= bits << 2;
+		bits ^= bits << 4;
+		bits ^= bits << 8;
+		bits ^= bits << 16;
+		bits ^= bits << 32;
+		
+		return bits;
+	}
+	
+	private static void getChars(final CharSequence json, final int lower, final int upper, final char[] target) {
+		if (json instanceof StringBuilder) {
+			((StringBuilder) json).getChars(lower, upper, target, 0);
+		} else if (json instanceof String) {
+			((String) json).getChars(lower, upper, target, 0);
+		} else {
+			for (int i = lower; i < upper; ++i) {
+				target[i - lower] = json.charAt(i);
+			}
+		}
+	}
+}
\ No newline at end of file
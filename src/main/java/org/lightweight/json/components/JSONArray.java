@@ -1,51 +1,171 @@
 package org.lightweight.json.components;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.lightweight.json.JSONTape;
 import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.UTF8Sequence;
 
 /**
  * A class representing the array data structure of JSON.
+ * <p>The bounds of the elements are stored in a single growable {@code int} table, two entries per element,
+ * which makes {@link JSONArray#get(int)} and {@link JSONArray#size()} constant time.</p>
+ * <p>An array that has a {@link JSONCache} keeps every element that is navigated to, see {@link JSONArray#setCache(JSONCache)}.</p>
  */
 public class JSONArray extends JSONComponent implements Iterable<JSONValue> {
-	private final List<int[]> elements = new LinkedList<>();
+	// The slots of the kept values are replaced with release semantics, see JSONCache#SLOTS.
+	private static final VarHandle VALUES;
+	
+	static {
+		try {
+			VALUES = MethodHandles.lookup().findVarHandle(JSONArray.class, "values", JSONValue[].class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	// The bounds of the element at index i are stored at elements[2 * i] (lower) and elements[2 * i + 1] (upper).
+	private int[] elements = new int[16];
+	private int size;
+	
+	// The tape this array was created from and the tape entries of the elements, both are null if there is no tape.
+	private JSONTape tape;
+	private int[] entries;
+	
+	// The cache of this array and the elements that were navigated to, both are null if there is no cache.
+	private JSONCache cache;
+	private JSONValue[] values;
 	
 	public JSONArray(final CharSequence json) {
 		super(json);
 	}
 	
+	public JSONArray(final StringBuilder builder) {
+		super(builder);
+	}
+	
+	public JSONArray(final String json) {
+		super(json);
+	}
+	
+	public JSONArray(final UTF8Sequence bytes) {
+		super(bytes);
+	}
+	
 	public JSONArray() {
 		super();
 	}
 	
+	JSONArray(final CharSequence json, final boolean copy) {
+		super(json, copy);
+	}
+	
+	/**
+	 * Creates the array of the entry {@code entry} of {@code tape}, its elements are placed from the entries of the tape.
+	 * 
+	 * @param tape - the tape the array is created from.
+	 * @param entry - the index of the entry of the array.
+	 * 
+	 * @see JSONTape#getAsJSONArray(int)
+	 */
+	public JSONArray(final JSONTape tape, final int entry) {
+		super(tape.getJSON(), false);
+		
+		this.tape = tape;
+		this.entries = new int[this.elements.length >> 1];
+		
+		// The entry after an element skips its nested values.
+		for (int element = entry + 1, end = tape.getNext(entry); element < end; element = tape.getNext(element)) {
+			this.place(tape.getLower(element), tape.getUpper(element), element);
+		}
+	}
+	
 	public void place(final int[] element) {
-		this.elements.add(element);
+		this.place(element[0], element[1]);
+	}
+	
+	public void place(final int lower, final int upper) {
+		this.checkModifiable();
+		this.place(lower, upper, -1);
+	}
+	
+	/**
+	 * Places the elements of {@code array} after the elements of this array.
+	 * <p>The bounds are copied as they are, so both arrays must refer to the same characters.</p>
+	 * 
+	 * @param array - the array whose elements will be placed.
+	 */
+	public void place(final JSONArray array) {
+		this.checkModifiable();
+		
+		final int index = this.size << 1, length = array.size << 1;
+		
+		// Grow the table at once to fit every element of array.
+		if (index + length > this.elements.length) {
+			this.elements = Arrays.copyOf(this.elements, Math.max(index << 1, index + length));
+		}
+		System.arraycopy(array.elements, 0, this.elements, index, length);
+		
+		if (this.entries != null) {
+			if (this.size + array.size > this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, Math.max(this.size << 1, this.size + array.size));
+			}
+			Arrays.fill(this.entries, this.size, this.size + array.size, -1);
+		}
+		this.size += array.size;
+	}
+	
+	// An element placed without a tape entry has to be parsed once it is navigated to.
+	private void place(final int lower, final int upper, final int entry) {
+		final int index = this.size << 1;
+		
+		// Double the capacity of the table once it is full.
+		if (index == this.elements.length) {
+			this.elements = Arrays.copyOf(this.elements, index << 1);
+		}
+		this.elements[index] = lower;
+		this.elements[index + 1] = upper;
+		
+		if (this.entries != null) {
+			if (this.size == this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, this.size << 1);
+			}
+			this.entries[this.size] = entry;
+		}
+		++this.size;
 	}
 	
 	public JSONArray add(final Object element) {
-		final int[] indexes = new int[2];
+		final StringBuilder builder = this.getBuilder();
 		
-		indexes[0] = this.builder.length();
-		this.builder.append(JSONUtils.escape(element.toString()));
-		indexes[1] = this.builder.length();
+		final int lower = builder.length();
+		JSONUtils.appendEscaped(element.toString(), builder);
 		
-		this.elements.add(indexes);
+		this.place(lower, builder.length());
 		
 		return this;
 	}
 	
 	public JSONArray add(final String element) {
-		final int[] indexes = new int[2];
+		final StringBuilder builder = this.getBuilder();
 		
-		indexes[0] = this.builder.length();
-		this.builder.append('"').append(JSONUtils.escape(element)).append('"');
-		indexes[1] = this.builder.length();
+		final int lower = builder.length();
+		builder.append('"');
+		JSONUtils.appendEscaped(element, builder);
+		builder.append('"');
 		
-		this.elements.add(indexes);
+		this.place(lower, builder.length());
 		
 		return this;
 	}
@@ -54,48 +174,202 @@ public class JSONArray extends JSONComponent implements Iterable<JSONValue> {
 		return this.add(value.toString());
 	}
 	
+	/**
+	 * Returns a read-only view of the bounds of the elements, a new {@code int[2]} is created on every access.
+	 * 
+	 * @return a {@link List} of the bounds of the elements.
+	 */
 	public List<int[]> getIndexes() {
-		return this.elements;
+		return new AbstractList<int[]>() {
+			@Override
+			public int[] get(final int index) {
+				Objects.checkIndex(index, JSONArray.this.size);
+				return Arrays.copyOfRange(JSONArray.this.elements, index << 1, (index << 1) + 2);
+			}
+			
+			@Override
+			public int size() {
+				return JSONArray.this.size;
+			}
+		};
+	}
+	
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Removes every element of this array, the table of the elements keeps its capacity so it can be reused.
+	 * <p>The characters of this array are not modified.</p>
+	 */
+	public void clear() {
+		this.checkModifiable();
+		this.size = 0;
+		this.tape = null;
+		this.entries = null;
+		this.values = null;
+	}
+	
+	public boolean isEmpty() {
+		return this.size == 0;
 	}
 	
 	public Stream<JSONValue> getStream() {
-		return this.elements.stream().map(index -> new JSONValue(this.builder, index));
+		// A range of indexes splits into exact halves, which keeps the work balanced for parallel streams.
+		return IntStream.range(0, this.size).mapToObj(this::get);
 	}
 	
 	public Stream<JSONValue> getParallelStream() {
-		return this.elements.parallelStream().map(index -> new JSONValue(this.builder, index));
+		return this.getStream().parallel();
 	}
 	
 	public List<JSONValue> get() {
-		return this.getStream().collect(Collectors.toList());
+		final List<JSONValue> values = new ArrayList<>(this.size);
+		
+		for (int i = 0; i < this.size; ++i) {
+			values.add(this.get(i));
+		}
+		return values;
 	}
 	
 	public JSONValue get(final int index) {
-		return new JSONValue(this.builder, this.elements.get(index));
+		Objects.checkIndex(index, this.size);
+		
+		final JSONValue[] values = (JSONValue[]) VALUES.getAcquire(this);
+		
+		if (values != null && index < values.length) {
+			final JSONValue value = (JSONValue) JSONCache.SLOTS.getAcquire(values, index);
+			
+			if (value != null) {
+				return value;
+			}
+		}
+		final JSONValue value = new JSONValue(this.json, this.elements[index << 1], this.elements[(index << 1) + 1], this.tape, this.entries == null ? -1 : this.entries[index], this.cache, this.symbols, this.frozen);
+		
+		return this.cache == null ? value : this.memoize(values, index, value);
+	}
+	
+	// Keep an element if the cache has room for it and for the slots of the elements, return the element that is kept.
+	// Another thread may have kept an element or grown the slots first, its element or its slots are used then.
+	private JSONValue memoize(JSONValue[] values, final int index, final JSONValue value) {
+		if (values == null || index >= values.length) {
+			final int length = Math.max(this.size, index + 1);
+			
+			if (!this.cache.reserve(JSONCache.REFERENCE * (length - (values == null ? 0 : values.length)))) {
+				return value;
+			}
+			final JSONValue[] grown = values == null ? new JSONValue[length] : Arrays.copyOf(values, length);
+			final JSONValue[] witness = (JSONValue[]) VALUES.compareAndExchangeRelease(this, values, grown);
+			
+			if ((values = witness == values ? grown : witness) == null || index >= values.length) {
+				return value;
+			}
+		}
+		if (!this.cache.reserve(JSONCache.VALUE)) {
+			return value;
+		}
+		final JSONValue witness = (JSONValue) JSONCache.SLOTS.compareAndExchangeRelease(values, index, null, value);
+		return witness == null ? value : witness;
+	}
+	
+	/**
+	 * Sets the cache through which the elements of this array are kept once they are navigated to, so navigating to them again,
+	 * and reading them as the same type again, neither parses nor decodes anything.
+	 * <p>An element that is kept is the same instance on every navigation, as is the component parsed from it, modifying it
+	 * therefore modifies what later navigations return. The elements that were kept before are discarded.</p>
+	 * 
+	 * @param cache - the cache the elements are kept through, null to keep nothing.
+	 * @return this array.
+	 * @throws UnsupportedOperationException if this array is frozen, the cache has to be set before.
+	 */
+	public JSONArray setCache(final JSONCache cache) {
+		this.checkModifiable();
+		this.cache = cache;
+		this.values = null;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the cache the elements of this array are kept through, null if there is none.
+	 */
+	public JSONCache getCache() {
+		return this.cache;
 	}
 	
 	@Override
-	public String toString() {
-		final StringBuilder string = new StringBuilder();
-		string.append('[');
+	public JSONArray freeze() {
+		return (JSONArray) super.freeze();
+	}
+	
+	@Override
+	void freeze(final CharSequence json) {
+		super.freeze(json);
 		
-		boolean first = true;
+		// The elements that were kept before were navigated to while this array was not frozen.
+		this.values = null;
+	}
+	
+	// The estimated size of this array in bytes, as charged to a cache.
+	long footprint() {
+		return JSONCache.COMPONENT + 4L * this.elements.length;
+	}
+	
+	@Override
+	public String toString() {
+		return this.appendTo(new StringBuilder()).toString();
+	}
+	
+	@Override
+	protected void write(final Sink sink) throws IOException {
+		sink.write('[');
 		
-		for (final int[] element : this.elements) {
-			if (!first) {
-				string.append(',');
-			} else {
-				first = false;
+		for (int i = 0, length = this.size << 1; i < length; i += 2) {
+			if (i != 0) {
+				sink.write(',');
 			}
-			string.append(this.builder.subSequence(element[0], element[1]));
+			sink.write(this.json, this.elements[i], this.elements[i + 1]);
 		}
-		string.append(']');
+		sink.write(']');
+	}
+	
+	@Override
+	protected void detach() {
+		final StringBuilder builder = new StringBuilder(this.json.length());
 		
-		return string.toString();	
+		// Lay the elements out the same way JSONArray#toString() does.
+		for (int i = 0, length = this.size << 1; i < length; i += 2) {
+			final int lower = builder.length();
+			JSONUtils.append(builder, this.json, this.elements[i], this.elements[i + 1]);
+			
+			this.elements[i] = lower;
+			this.elements[i + 1] = builder.length();
+			
+			builder.append(',');
+		}
+		this.json = builder;
+		this.tape = null;
+		this.entries = null;
+		this.values = null;
 	}
 	
 	@Override
 	public Iterator<JSONValue> iterator() {
-		return this.get().iterator();
+		return new Iterator<JSONValue>() {
+			private int index;
+			
+			@Override
+			public boolean hasNext() {
+				return this.index < JSONArray.this.size;
+			}
+			
+			@Override
+			public JSONValue next() {
+				if (this.index >= JSONArray.this.size) {
+					throw new NoSuchElementException();
+				}
+				return JSONArray.this.get(this.index++);
+			}
+		};
 	}
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package org.lightweight.json.components;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A budget for the values that components keep once they were materialized, so reading the same value again is a lookup.
+ * <p>A {@link JSONObject} or a {@link JSONArray} that has a cache keeps the {@link JSONValue} of every field or element that
+ * was navigated to, and every such value keeps what it was first read as: the component parsed from it, its unescaped
+ * {@link String}, its number or its boolean. The components parsed from a cached value share its cache, so a whole document
+ * is cached as far as it is read.</p>
+ * <p>The memory a value would keep is estimated before it is kept, once the estimates of a cache reach its capacity nothing
+ * more is kept and values are materialized anew on every read, the same way as without a cache. The memory is charged to the
+ * cache for as long as it exists, a cache is therefore meant to be used for a single document or for documents that are
+ * discarded together.</p>
+ * <p>A cache may be shared by several threads, such as the threads reading a frozen component, see {@link JSONComponent#freeze()}.</p>
+ * 
+ * @see JSONObject#setCache(JSONCache)
+ * @see JSONArray#setCache(JSONCache)
+ */
+public class JSONCache {
+	// The estimated sizes of what is kept in bytes, assuming compressed references.
+	static final long REFERENCE = 4, VALUE = 32, NUMBER = 16, COMPONENT = 64;
+	
+	// The slots of the kept values of components are read with acquire and written with release semantics, so the values
+	// kept by one thread are seen fully initialized by the threads reading a frozen component.
+	static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(JSONValue[].class);
+	
+	private final long capacity;
+	private final AtomicLong size = new AtomicLong();
+	private final LongAdder rejections = new LongAdder();
+	
+	/**
+	 * @param capacity - the maximum estimated amount of bytes that is kept through this cache.
+	 * @throws IllegalArgumentException if {@code capacity} is negative.
+	 */
+	public JSONCache(final long capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("The capacity must not be negative!");
+		}
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * @return a cache that keeps everything that is read.
+	 */
+	public static JSONCache unbounded() {
+		return new JSONCache(Long.MAX_VALUE);
+	}
+	
+	// Charge bytes to this cache, return false without charging them if the capacity would be exceeded.
+	boolean reserve(final long bytes) {
+		for (long size = this.size.get(); ; size = this.size.get()) {
+			if (bytes > this.capacity - size) {
+				this.rejections.increment();
+				return false;
+			}
+			if (this.size.compareAndSet(size, size + bytes)) {
+				return true;
+			}
+		}
+	}
+	
+	// The estimated size of a String of the given length, Latin-1 strings are counted as if they were not compact.
+	static long sizeOf(final String value) {
+		return 40 + 2L * value.length();
+	}
+	
+	public long getCapacity() {
+		return this.capacity;
+	}
+	
+	/**
+	 * @return the estimated amount of bytes that was kept through this cache.
+	 */
+	public long getSize() {
+		return this.size.get();
+	}
+	
+	/**
+	 * @return the amount of values that were not kept because the capacity would have been exceeded.
+	 */
+	public long getRejections() {
+		return this.rejections.sum();
+	}
+}
@@ -1,24 +1,276 @@
 package org.lightweight.json.components;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.SymbolTable;
+import org.lightweight.json.utils.UTF8Sequence;
+
 public abstract class JSONComponent {
-	protected final StringBuilder builder;
+	// The characters the bounds of the values refer to, either a StringBuilder, a String or a UTF8Sequence.
+	protected CharSequence json;
+	
+	// Whether the builder of the characters was created by this component, a builder that is shared is never modified.
+	private boolean owned;
+	
+	// Whether this component was frozen, a frozen component is never modified.
+	boolean frozen;
 	
+	// The table the names are materialized through, shared by the components navigated to from this component, null if there is none.
+	SymbolTable symbols;
+	
+	/**
+	 * Creates a component from a copy of the characters of {@code builder}, modifying either afterwards does not affect the other.
+	 * 
+	 * @param builder - the characters of the component.
+	 */
 	public JSONComponent(final StringBuilder builder) {
-		this.builder = builder;
+		this(builder, true);
+	}
+	
+	/**
+	 * Creates a component that shares {@code json}, which cannot be modified, the characters are copied once the component is.
+	 * 
+	 * @param json - the characters of the component.
+	 */
+	public JSONComponent(final String json) {
+		this(json, false);
+	}
+	
+	public JSONComponent(final UTF8Sequence bytes) {
+		this(bytes, false);
 	}
 	
 	public JSONComponent(final CharSequence json) {
-		this.builder = new StringBuilder(json);
+		this(json, true);
 	}
 	
 	public JSONComponent() {
-		this.builder = new StringBuilder();
+		this.json = new StringBuilder();
+		this.owned = true;
+	}
+	
+	// Either share json or copy it to a new builder, a shared json is copied before this component is modified.
+	JSONComponent(final CharSequence json, final boolean copy) {
+		this.json = copy ? new StringBuilder(json) : json;
+		this.owned = copy;
+	}
+	
+	/**
+	 * @return the characters the bounds of the values of this component refer to.
+	 */
+	public CharSequence getJSON() {
+		return this.json;
 	}
 	
+	/**
+	 * Returns the builder of this component, if the component does not own its characters, for example because it was navigated
+	 * to from another component or is backed by bytes, its values are copied to a new builder first.
+	 * 
+	 * @return the {@link StringBuilder} the bounds of the values of this component refer to.
+	 */
 	public StringBuilder getBuilder() {
-		return this.builder;
+		this.checkModifiable();
+		
+		if (!this.owned) {
+			this.detach();
+			this.owned = true;
+		}
+		return (StringBuilder) this.json;
 	}
 	
+	/**
+	 * Freezes this component, after which it cannot be modified and may be read by any amount of threads at once without locking.
+	 * <p>The characters of a component backed by a {@link StringBuilder} are copied to a {@link String} once, so modifying the
+	 * components that shared the builder does not affect this component. The components navigated to from a frozen component
+	 * are frozen as well and share its characters, so they may be parsed lazily, and kept through a {@link JSONCache}, by any thread.
+	 * Races between threads materializing the same value or name can only lead to it being materialized more than once.
+	 * Modifying a frozen component throws {@link UnsupportedOperationException}.</p>
+	 * <p>Like any other object, a frozen component has to be published safely to the threads reading it, for example through
+	 * a final or volatile field. The bytes of a component backed by bytes must still not be modified by anyone.</p>
+	 * 
+	 * @return this component.
+	 */
+	public JSONComponent freeze() {
+		if (!this.frozen) {
+			this.freeze(this.json instanceof StringBuilder ? this.json.toString() : this.json);
+		}
+		return this;
+	}
+	
+	// Freeze this component, json holds the same characters at the same bounds as the characters of this component.
+	void freeze(final CharSequence json) {
+		this.json = json;
+		this.frozen = true;
+	}
+	
+	/**
+	 * @return true if this component was frozen and cannot be modified, false otherwise.
+	 * 
+	 * @see JSONComponent#freeze()
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	
+	/**
+	 * Sets the table through which the names of the JSON objects are materialized, so a name that was materialized before,
+	 * by any component sharing the table, is not materialized again. The components navigated to from this component afterwards share the table.
+	 * 
+	 * @param symbols - the table the names are materialized through, null to materialize every name anew.
+	 * @return this component.
+	 * @throws UnsupportedOperationException if this component is frozen, the table has to be set before.
+	 */
+	public JSONComponent setSymbolTable(final SymbolTable symbols) {
+		this.checkModifiable();
+		this.symbols = symbols;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the table the names are materialized through, null if there is none.
+	 */
+	public SymbolTable getSymbolTable() {
+		return this.symbols;
+	}
+	
+	// Throw if this component is frozen.
+	void checkModifiable() {
+		if (this.frozen) {
+			throw new UnsupportedOperationException("The component is frozen and cannot be modified!");
+		}
+	}
+	
+	/**
+	 * Appends the JSON text of this component to {@code string}, the same text that {@link Object#toString()} returns.
+	 * 
+	 * @param string - the {@link StringBuilder} the text is appended to.
+	 * @return {@code string}.
+	 */
+	public StringBuilder appendTo(final StringBuilder string) {
+		try {
+			this.write(new CharacterSink(string));
+		} catch (IOException e) {
+			// A StringBuilder never throws.
+			throw new UncheckedIOException(e);
+		}
+		return string;
+	}
+	
+	/**
+	 * Writes the JSON text of this component to {@code out}, the values are copied from the characters of this component
+	 * without being materialized as {@link String} objects first.
+	 * <p>A {@link Writer} is not flushed, it is written to through a small reused array of characters.</p>
+	 * 
+	 * @param out - the {@link Appendable} the text is written to.
+	 * @throws IOException if {@code out} could not be written to.
+	 */
+	public void writeTo(final Appendable out) throws IOException {
+		this.write(new CharacterSink(out));
+	}
+	
+	/**
+	 * Writes the JSON text of this component to {@code stream}, encoded with {@code charset}.
+	 * <p>If the charset is UTF-8, the text is encoded into a reused buffer, and the values of a component backed by bytes are copied
+	 * without being decoded. The stream is neither flushed nor closed.</p>
+	 * 
+	 * @param stream - the {@link OutputStream} the text is written to.
+	 * @param charset - the {@link Charset} the text is encoded with.
+	 * @throws IOException if {@code stream} could not be written to.
+	 */
+	public void writeTo(final OutputStream stream, final Charset charset) throws IOException {
+		if (charset.equals(StandardCharsets.UTF_8)) {
+			final ByteSink sink = new ByteSink(stream, ByteSink.DEFAULT_BUFFER_SIZE);
+			
+			this.write(sink);
+			sink.drain();
+		} else {
+			final Writer writer = new OutputStreamWriter(stream, charset);
+			
+			this.write(new CharacterSink(writer));
+			writer.flush();
+		}
+	}
+	
+	/**
+	 * Puts the JSON text of this component, encoded as UTF-8, into {@code target}, starting at its position.
+	 * 
+	 * @param target - the {@link ByteBuffer} the text is put into.
+	 * @throws java.nio.BufferOverflowException if {@code target} has less than {@link JSONComponent#getByteLength()} bytes remaining.
+	 */
+	public void writeTo(final ByteBuffer target) {
+		try {
+			final ByteSink sink = new ByteSink(null, target, ByteSink.DEFAULT_BUFFER_SIZE);
+			
+			this.write(sink);
+			sink.drain();
+		} catch (IOException e) {
+			// A ByteBuffer never throws.
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Writes the JSON text of this component to {@code sink}, which lets a sink be reused for several components.
+	 * <p>The bytes written to a {@link ByteSink} stay in its buffer until it is drained.</p>
+	 * 
+	 * @param sink - the {@link Sink} the text is written to.
+	 * @throws IOException if {@code sink} could not be written to.
+	 */
+	public void writeTo(final Sink sink) throws IOException {
+		this.write(sink);
+	}
+	
+	/**
+	 * Computes the amount of characters of the JSON text of this component without building the text.
+	 * 
+	 * @return the length of {@link Object#toString()}.
+	 */
+	public long getLength() {
+		return this.measure(false);
+	}
+	
+	/**
+	 * Computes the amount of bytes of the JSON text of this component encoded as UTF-8 without building the text,
+	 * for example to set the length of the content of a response before writing it.
+	 * 
+	 * @return the amount of bytes that {@link JSONComponent#writeTo(OutputStream, Charset)} writes with UTF-8.
+	 */
+	public long getByteLength() {
+		return this.measure(true);
+	}
+	
+	private long measure(final boolean bytes) {
+		final LengthSink sink = new LengthSink(bytes);
+		
+		try {
+			this.write(sink);
+		} catch (IOException e) {
+			// Counting never throws.
+			throw new UncheckedIOException(e);
+		}
+		return sink.length;
+	}
+	
+	/**
+	 * Writes the JSON text of this component to {@code sink}, in order.
+	 * 
+	 * @param sink - the {@link Sink} the literal characters and the bounded characters of this component are written to.
+	 * @throws IOException if the sink could not be written to.
+	 */
+	protected abstract void write(Sink sink) throws IOException;
+	
+	// Copy the values of this component to a new builder, decoding them if needed, and update their bounds accordingly.
+	protected abstract void detach();
+	
 	public boolean isArray() {
 		return this instanceof JSONArray;
 	}
@@ -30,4 +282,205 @@ public abstract class JSONComponent {
 	public boolean isValue() {
 		return this instanceof JSONValue;
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * The target the JSON text of a component is written to, either a literal character or characters between bounds at a time.
+	 */
+	public interface Sink {
+		/**
+		 * @param character - the ASCII character that will be written.
+		 * @throws IOException if the character could not be written.
+		 */
+		void write(char character) throws IOException;
+		
+		/**
+		 * @param json - the characters that will be written, the bytes themselves if it is a {@link UTF8Sequence}.
+		 * @param lower - the lower bound of the characters.
+		 * @param upper - the upper bound of the characters.
+		 * @throws IOException if the characters could not be written.
+		 */
+		void write(CharSequence json, int lower, int upper) throws IOException;
+	}
+	
+	// Write characters to an Appendable, copying them through a reused array if it is a Writer.
+	private static final class CharacterSink implements Sink {
+		private final Appendable out;
+		private char[] chunk;
+		
+		CharacterSink(final Appendable out) {
+			this.out = out;
+		}
+		
+		@Override
+		public void write(final char character) throws IOException {
+			this.out.append(character);
+		}
+		
+		@Override
+		public void write(final CharSequence json, final int lower, final int upper) throws IOException {
+			if (this.out instanceof StringBuilder) {
+				JSONUtils.append((StringBuilder) this.out, json, lower, upper);
+			} else if (json instanceof UTF8Sequence) {
+				// The ASCII characters are written as they are, the rest is decoded at once.
+				for (int i = lower; i < upper; ++i) {
+					final char read = json.charAt(i);
+					
+					if (read >= 0x80) {
+						this.out.append(((UTF8Sequence) json).decode(i, upper));
+						return;
+					}
+					this.out.append(read);
+				}
+			} else if (this.out instanceof Writer) {
+				// Writer#append(CharSequence, int, int) would create a String of the characters.
+				if (this.chunk == null) {
+					this.chunk = new char[1024];
+				}
+				for (int i = lower; i < upper; i += this.chunk.length) {
+					final int end = Math.min(upper, i + this.chunk.length);
+					
+					if (json instanceof StringBuilder) {
+						((StringBuilder) json).getChars(i, end, this.chunk, 0);
+					} else {
+						for (int j = i; j < end; ++j) {
+							this.chunk[j - i] = json.charAt(j);
+						}
+					}
+					((Writer) this.out).write(this.chunk, 0, end - i);
+				}
+			} else {
+				this.out.append(json, lower, upper);
+			}
+		}
+	}
+	
+	/**
+	 * A sink that encodes the characters as UTF-8 into a reused buffer, which is drained to a stream once it is full.
+	 * The bytes of a {@link UTF8Sequence} are copied as they are, without being decoded and encoded again.
+	 */
+	public static final class ByteSink implements Sink {
+		private static final int DEFAULT_BUFFER_SIZE = 8192;
+		
+		// The longest sequence of bytes a character is encoded as, the buffer holds at least that many.
+		private static final int LONGEST_CHARACTER = 4;
+		
+		// The sink the buffer is drained to, exactly one of them is not null.
+		private final OutputStream stream;
+		private final ByteBuffer target;
+		
+		private final byte[] buffer;
+		private int position;
+		
+		/**
+		 * @param stream - the {@link OutputStream} the buffer is drained to.
+		 * @param bufferSize - the size of the buffer in bytes.
+		 */
+		public ByteSink(final OutputStream stream, final int bufferSize) {
+			this(stream, null, bufferSize);
+		}
+		
+		private ByteSink(final OutputStream stream, final ByteBuffer target, final int bufferSize) {
+			this.stream = stream;
+			this.target = target;
+			this.buffer = new byte[Math.max(bufferSize, LONGEST_CHARACTER)];
+		}
+		
+		@Override
+		public void write(final char character) throws IOException {
+			if (this.position == this.buffer.length) {
+				this.drain();
+			}
+			this.buffer[this.position++] = (byte) character;
+		}
+		
+		@Override
+		public void write(final CharSequence json, final int lower, final int upper) throws IOException {
+			if (json instanceof UTF8Sequence) {
+				for (int i = lower; i < upper;) {
+					if (this.position == this.buffer.length) {
+						this.drain();
+					}
+					final int end = Math.min(upper, i + this.buffer.length - this.position);
+					
+					((UTF8Sequence) json).getBytes(i, end, this.buffer, this.position);
+					this.position += end - i;
+					i = end;
+				}
+				return;
+			}
+			for (int i = lower; i < upper; ++i) {
+				if (this.buffer.length - this.position < LONGEST_CHARACTER) {
+					this.drain();
+				}
+				final int written = UTF8Sequence.encode(json, i, upper, this.buffer, this.position);
+				
+				this.position += written;
+				
+				// The low surrogate of a pair was encoded along with the high one.
+				if (written == 4) {
+					++i;
+				}
+			}
+		}
+		
+		/**
+		 * Writes the encoded bytes of the buffer to the stream, the stream itself is not flushed.
+		 * 
+		 * @throws IOException if the stream could not be written to.
+		 */
+		public void drain() throws IOException {
+			if (this.stream != null) {
+				this.stream.write(this.buffer, 0, this.position);
+			} else {
+				this.target.put(this.buffer, 0, this.position);
+			}
+			this.position = 0;
+		}
+	}
+	
+	// Count the characters or the UTF-8 encoded bytes that would be written.
+	private static final class LengthSink implements Sink {
+		private final boolean bytes;
+		private long length;
+		
+		LengthSink(final boolean bytes) {
+			this.bytes = bytes;
+		}
+		
+		@Override
+		public void write(final char character) {
+			++this.length;
+		}
+		
+		@Override
+		public void write(final CharSequence json, final int lower, final int upper) {
+			if (json instanceof UTF8Sequence == this.bytes) {
+				this.length += upper - lower;
+			} else if (this.bytes) {
+				for (int i = lower; i < upper; ++i) {
+					final char read = json.charAt(i);
+					
+					if (read < 0x80) {
+						++this.length;
+					} else if (read < 0x800) {
+						this.length += 2;
+					} else if (Character.isHighSurrogate(read) && i + 1 < upper && Character.isLowSurrogate(json.charAt(i + 1))) {
+						this.length += 4;
+						++i;
+					} else {
+						this.length += Character.isSurrogate(read) ? 1 : 3;
+					}
+				}
+			} else {
+				// Every byte but the continuation bytes starts a character, the characters of four bytes are two surrogates.
+				for (int i = lower; i < upper; ++i) {
+					final char read = json.charAt(i);
+					
+					if ((read & 0xC0) != 0x80) {
+						this.length += read >= 0xF0 ? 2 : 1;
+					}
+				}
+			}
+		}
+	}
+}
@@ -1,53 +1,221 @@
 package org.lightweight.json.components;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 
+import org.lightweight.json.JSONTape;
 import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.SymbolTable;
+import org.lightweight.json.utils.UTF8Sequence;
 
 /**
  * A class representing the object data structure of JSON.
+ * <p>The fields are stored in insertion order in a single {@code int} table holding the bounds of the name,
+ * the bounds of the value and the hash code of the name. The names are looked up through an open addressing
+ * table over their hash codes and are only materialized as {@link String} objects when needed.</p>
+ * <p>An object that has a {@link JSONCache} keeps the value of every field that is navigated to, see {@link JSONObject#setCache(JSONCache)}.</p>
  */
 public class JSONObject extends JSONComponent {
-	private final Map<String, int[]> components = new LinkedHashMap<>();
+	// The layout of a field in the fields table.
+	private static final int NAME_LOWER = 0, NAME_UPPER = 1, VALUE_LOWER = 2, VALUE_UPPER = 3, HASH = 4, FIELD = 5;
+	
+	// The slots of the kept values are replaced with release semantics, see JSONCache#SLOTS.
+	private static final VarHandle VALUES;
+	
+	// The names materialized by the threads reading a frozen object are published the same way as the kept values.
+	private static final VarHandle NAMES, NAME_SLOTS = MethodHandles.arrayElementVarHandle(String[].class);
+	
+	static {
+		try {
+			VALUES = MethodHandles.lookup().findVarHandle(JSONObject.class, "values", JSONValue[].class);
+			NAMES = MethodHandles.lookup().findVarHandle(JSONObject.class, "names", String[].class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	// The fields in insertion order, FIELD entries per field.
+	private int[] fields = new int[8 * FIELD];
+	private int size;
+	
+	// The open addressing table, each slot holds the index of a field plus one (zero marks an empty slot).
+	// Its length is always a power of two and at least twice the amount of fields.
+	private int[] table = new int[16];
+	
+	// The names that were either placed as Strings or materialized, null until the first one is needed.
+	private String[] names;
+	
+	// The tape this object was created from and the tape entries of the values, both are null if there is no tape.
+	private JSONTape tape;
+	private int[] entries;
+	
+	// The cache of this object and the values of the fields that were navigated to, both are null if there is no cache.
+	private JSONCache cache;
+	private JSONValue[] values;
 	
 	public JSONObject(final CharSequence json) {
 		super(json);
 	}
 	
+	public JSONObject(final StringBuilder builder) {
+		super(builder);
+	}
+	
+	public JSONObject(final String json) {
+		super(json);
+	}
+	
+	public JSONObject(final UTF8Sequence bytes) {
+		super(bytes);
+	}
+	
 	public JSONObject() {
 		super();
 	}
 	
+	JSONObject(final CharSequence json, final boolean copy) {
+		super(json, copy);
+	}
+	
+	/**
+	 * Creates the object of the entry {@code entry} of {@code tape}, its fields are placed from the entries of the tape.
+	 * 
+	 * @param tape - the tape the object is created from.
+	 * @param entry - the index of the entry of the object.
+	 * 
+	 * @see JSONTape#getAsJSONObject(int)
+	 */
+	public JSONObject(final JSONTape tape, final int entry) {
+		super(tape.getJSON(), false);
+		
+		this.tape = tape;
+		this.entries = new int[this.fields.length / FIELD];
+		
+		// The entries of the object alternate between a name and its value, the entry after a value skips its nested values.
+		for (int name = entry + 1, end = tape.getNext(entry); name < end; name = tape.getNext(name + 1)) {
+			final int value = name + 1, nameLower = tape.getLower(name) + 1, nameUpper = tape.getUpper(name) - 1;
+			final int field = this.place(nameLower, nameUpper, JSONUtils.hash(this.json, nameLower, nameUpper), tape.getLower(value), tape.getUpper(value), null);
+			
+			if (field == this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, field << 1);
+			}
+			this.entries[field] = value;
+		}
+	}
+	
 	public void place(final String name, final int[] value) {
-		this.components.put(name, value);
+		this.checkModifiable();
+		
+		// The name is not part of the characters of this object, so it is kept as a String.
+		this.entry(this.place(-1, -1, this.raw(name).hashCode(), value[0], value[1], name));
+	}
+	
+	/**
+	 * Places the value bounded by {@code valueLower} and {@code valueUpper} under the name bounded by
+	 * {@code nameLower} and {@code nameUpper}, both bounds refer to the characters of this object.
+	 * <p>If a field with the same name was already placed, only its value bounds are replaced and it keeps its position.</p>
+	 * 
+	 * @param nameLower - the lower bound of the name (excluding the opening quote).
+	 * @param nameUpper - the upper bound of the name (the index of the closing quote).
+	 * @param hash - the hash code of the name, computed the same way as {@link String#hashCode()}.
+	 * @param valueLower - the lower bound of the value.
+	 * @param valueUpper - the upper bound of the value.
+	 */
+	public void place(final int nameLower, final int nameUpper, final int hash, final int valueLower, final int valueUpper) {
+		this.checkModifiable();
+		this.entry(this.place(nameLower, nameUpper, hash, valueLower, valueUpper, null));
+	}
+	
+	// A field placed without a tape entry has to be parsed once it is navigated to.
+	private void entry(final int field) {
+		if (this.entries != null) {
+			if (field == this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, field << 1);
+			}
+			this.entries[field] = -1;
+		}
+	}
+	
+	// Places a field and returns its index, name is the already materialized name of the field or null if it has yet to be materialized.
+	// The name is only compared through name if it is not part of the characters of this object (nameLower is -1).
+	private int place(final int nameLower, final int nameUpper, final int hash, final int valueLower, final int valueUpper, final String name) {
+		final CharSequence text = nameLower < 0 ? this.raw(name) : this.json;
+		final int lower = nameLower < 0 ? 0 : nameLower, upper = nameLower < 0 ? text.length() : nameUpper;
+		
+		final int mask = this.table.length - 1;
+		int slot = JSONObject.spread(hash) & mask;
+		
+		// Look for a field with the same name, stopping at the first empty slot.
+		for (int field; (field = this.table[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+			final int offset = field * FIELD;
+			
+			if (this.fields[offset + HASH] == hash && this.matches(field, text, lower, upper)) {
+				this.fields[offset + VALUE_LOWER] = valueLower;
+				this.fields[offset + VALUE_UPPER] = valueUpper;
+				
+				// The value that was kept is the one that was replaced.
+				if (this.values != null && field < this.values.length) {
+					this.values[field] = null;
+				}
+				
+				return field;
+			}
+		}
+		final int field = this.size, offset = field * FIELD;
+		
+		if (offset == this.fields.length) {
+			this.fields = Arrays.copyOf(this.fields, offset << 1);
+		}
+		this.fields[offset + NAME_LOWER] = nameLower;
+		this.fields[offset + NAME_UPPER] = nameUpper;
+		this.fields[offset + VALUE_LOWER] = valueLower;
+		this.fields[offset + VALUE_UPPER] = valueUpper;
+		this.fields[offset + HASH] = hash;
+		
+		if (name != null) {
+			this.name(field, name);
+		}
+		this.table[slot] = ++this.size;
+		
+		// Keep the table at most half full so the probe sequences stay short.
+		if (this.size << 1 > this.table.length) {
+			this.rehash(this.table.length << 1);
+		}
+		return field;
 	}
 	
 	public JSONObject add(final String name, final Object value) {
-		this.builder.append('"').append(name).append("\":");
+		final StringBuilder builder = this.getBuilder();
+		builder.append('"');
 		
-		final int[] indexes = new int[2];
+		final int nameLower = builder.length();
+		builder.append(name).append("\":");
 		
-		indexes[0] = this.builder.length();
-		this.builder.append(JSONUtils.escape(value.toString()));
-		indexes[1] = this.builder.length();
+		final int valueLower = builder.length();
+		JSONUtils.appendEscaped(value.toString(), builder);
 		
-		this.components.put(name, indexes);
+		this.entry(this.place(nameLower, nameLower + name.length(), name.hashCode(), valueLower, builder.length(), name));
 		
 		return this;
 	}
 	
 	public JSONObject add(final String name, final CharSequence value) {
-		this.builder.append('"').append(name).append("\":");
+		final StringBuilder builder = this.getBuilder();
+		builder.append('"');
 		
-		final int[] indexes = new int[2];
+		final int nameLower = builder.length();
+		builder.append(name).append("\":");
 		
-		indexes[0] = this.builder.length();
-		this.builder.append('"').append(JSONUtils.escape(value)).append('"');
-		indexes[1] = this.builder.length();
+		final int valueLower = builder.length();
+		builder.append('"');
+		JSONUtils.appendEscaped(value, builder);
+		builder.append('"');
 		
-		this.components.put(name, indexes);
+		this.entry(this.place(nameLower, nameLower + name.length(), name.hashCode(), valueLower, builder.length(), name));
 		
 		return this;
 	}
@@ -56,33 +224,347 @@ public class JSONObject extends JSONComponent {
 		return this.add(name, value.toString());
 	}
 	
+	/**
+	 * Returns a snapshot of the fields of this object, the names are materialized and the value bounds are copied.
+	 * 
+	 * @return a {@link Map} of the names to the bounds of their values, in insertion order.
+	 */
 	public Map<String, int[]> get() {
-		return this.components;
+		final Map<String, int[]> components = new LinkedHashMap<>();
+		
+		for (int field = 0; field < this.size; ++field) {
+			final int offset = field * FIELD;
+			components.put(this.getName(field), new int[] { this.fields[offset + VALUE_LOWER], this.fields[offset + VALUE_UPPER] });
+		}
+		return components;
+	}
+	
+	public JSONValue get(final CharSequence name) {
+		final int field = this.indexOf(name);
+		
+		if (field < 0) {
+			return null;
+		}
+		final JSONValue[] values = (JSONValue[]) VALUES.getAcquire(this);
+		
+		if (values != null && field < values.length) {
+			final JSONValue value = (JSONValue) JSONCache.SLOTS.getAcquire(values, field);
+			
+			if (value != null) {
+				return value;
+			}
+		}
+		final int offset = field * FIELD;
+		final JSONValue value = new JSONValue(this.json, this.fields[offset + VALUE_LOWER], this.fields[offset + VALUE_UPPER], this.tape, this.entries == null ? -1 : this.entries[field], this.cache, this.symbols, this.frozen);
+		
+		return this.cache == null ? value : this.memoize(values, field, value);
 	}
 	
-	public JSONValue get(final String name) {
-		final int[] indexes = this.components.get(name);
-		return indexes == null ? null : new JSONValue(this.builder, indexes);
+	// Keep the value of a field if the cache has room for it and for the slots of the values, return the value that is kept.
+	// Another thread may have kept a value or grown the slots first, its value or its slots are used then.
+	private JSONValue memoize(JSONValue[] values, final int field, final JSONValue value) {
+		if (values == null || field >= values.length) {
+			final int length = Math.max(this.fields.length / FIELD, field + 1);
+			
+			if (!this.cache.reserve(JSONCache.REFERENCE * (length - (values == null ? 0 : values.length)))) {
+				return value;
+			}
+			final JSONValue[] grown = values == null ? new JSONValue[length] : Arrays.copyOf(values, length);
+			final JSONValue[] witness = (JSONValue[]) VALUES.compareAndExchangeRelease(this, values, grown);
+			
+			if ((values = witness == values ? grown : witness) == null || field >= values.length) {
+				return value;
+			}
+		}
+		if (!this.cache.reserve(JSONCache.VALUE)) {
+			return value;
+		}
+		final JSONValue witness = (JSONValue) JSONCache.SLOTS.compareAndExchangeRelease(values, field, null, value);
+		return witness == null ? value : witness;
+	}
+	
+	/**
+	 * Sets the cache through which the values of this object are kept once they are navigated to, so navigating to them again,
+	 * and reading them as the same type again, neither parses nor decodes anything.
+	 * <p>A value that is kept is the same instance on every navigation, as is the component parsed from it, modifying it
+	 * therefore modifies what later navigations return. The values that were kept before are discarded.</p>
+	 * 
+	 * @param cache - the cache the values are kept through, null to keep nothing.
+	 * @return this object.
+	 * @throws UnsupportedOperationException if this object is frozen, the cache has to be set before.
+	 */
+	public JSONObject setCache(final JSONCache cache) {
+		this.checkModifiable();
+		this.cache = cache;
+		this.values = null;
+		
+		return this;
+	}
+	
+	/**
+	 * @return the cache the values of this object are kept through, null if there is none.
+	 */
+	public JSONCache getCache() {
+		return this.cache;
 	}
 	
 	@Override
-	public String toString() {
-		final StringBuilder string = new StringBuilder(this.builder.length() + 3 * this.components.size());
-		string.append('{');
+	public JSONObject freeze() {
+		return (JSONObject) super.freeze();
+	}
+	
+	@Override
+	void freeze(final CharSequence json) {
+		super.freeze(json);
+		
+		// The values that were kept before were navigated to while this object was not frozen.
+		this.values = null;
+	}
+	
+	// The estimated size of this object in bytes, as charged to a cache.
+	long footprint() {
+		return JSONCache.COMPONENT + 4L * (this.fields.length + this.table.length);
+	}
+	
+	public boolean contains(final CharSequence name) {
+		return this.indexOf(name) >= 0;
+	}
+	
+	/**
+	 * Compares the content of the value of the field {@code name} to {@code value}, neither of the names nor the value are copied
+	 * unless the value has escape sequences or encoded characters.
+	 * 
+	 * @param name - the name of the field.
+	 * @param value - the characters that are compared.
+	 * @return true if the field exists and {@link JSONValue#getAsString()} of its value would return the same characters as {@code value}.
+	 * 
+	 * @see JSONValue#contentEquals(CharSequence)
+	 */
+	public boolean contentEquals(final CharSequence name, final CharSequence value) {
+		final int field = this.indexOf(name);
+		return field >= 0 && JSONValue.contentEquals(this.json, this.fields[field * FIELD + VALUE_LOWER], this.fields[field * FIELD + VALUE_UPPER], value);
+	}
+	
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Removes every field of this object, the tables of the fields keep their capacity so they can be reused.
+	 * <p>The characters of this object are not modified.</p>
+	 */
+	public void clear() {
+		this.checkModifiable();
+		Arrays.fill(this.table, 0);
 		
-		boolean first = true;
+		if (this.names != null) {
+			Arrays.fill(this.names, 0, Math.min(this.size, this.names.length), null);
+		}
+		this.size = 0;
+		this.tape = null;
+		this.entries = null;
+		this.values = null;
+	}
+	
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Returns the name of the field at position {@code field} in insertion order, materializing it if needed.
+	 * 
+	 * @param field - the position of the field.
+	 * @return the name of the field.
+	 */
+	public String getName(final int field) {
+		final String[] names = (String[]) NAMES.getAcquire(this);
+		
+		if (names != null && field < names.length) {
+			final String name = (String) NAME_SLOTS.getAcquire(names, field);
+			
+			if (name != null) {
+				return name;
+			}
+		}
+		final int offset = field * FIELD, lower = this.fields[offset + NAME_LOWER], upper = this.fields[offset + NAME_UPPER];
+		final SymbolTable symbols = this.symbols;
 		
-		for (final Entry<String, int[]> entry : this.components.entrySet()) {
-			if (!first) {
-				string.append(',');
+		// A name that was materialized before, by any object sharing the symbol table, is not materialized again.
+		return this.name(field, symbols != null ? symbols.intern(this.json, lower, upper, this.fields[offset + HASH]) : this.json.subSequence(lower, upper).toString());
+	}
+	
+	// Returns the index of the field with the given name, or -1 if there is none.
+	private int indexOf(final CharSequence name) {
+		final CharSequence text = this.raw(name);
+		final int hash = text instanceof String ? text.hashCode() : JSONUtils.hash(text, 0, text.length()), mask = this.table.length - 1;
+		
+		for (int slot = JSONObject.spread(hash) & mask, field; (field = this.table[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+			if (this.fields[field * FIELD + HASH] == hash && this.matches(field, text, 0, text.length())) {
+				return field;
+			}
+		}
+		return -1;
+	}
+	
+	// Check if the name of a field is equal to the characters of text from bounds lower to upper.
+	private boolean matches(final int field, final CharSequence text, final int lower, final int upper) {
+		final CharSequence name;
+		final int offset, length = upper - lower;
+		
+		// The name is compared through the characters of this object unless it is not part of them.
+		final String[] names = (String[]) NAMES.getAcquire(this);
+		
+		if (this.fields[field * FIELD + NAME_LOWER] < 0) {
+			if ((name = this.raw(names[field])) == text) {
+				return true;
+			}
+			offset = 0;
+			
+			if (name.length() != length) {
+				return false;
+			}
+		} else {
+			// A materialized name may be the same instance as text, for example if both are canonical symbols.
+			if (names != null && field < names.length && NAME_SLOTS.getAcquire(names, field) == text) {
+				return true;
+			}
+			name = this.json;
+			offset = this.fields[field * FIELD + NAME_LOWER];
+			
+			if (this.fields[field * FIELD + NAME_UPPER] - offset != length) {
+				return false;
+			}
+		}
+		for (int i = 0; i < length; ++i) {
+			if (name.charAt(offset + i) != text.charAt(lower + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	// The names are hashed and compared in the form the characters of this object have, which are the bytes if they are encoded.
+	private String raw(final String name) {
+		return this.json instanceof UTF8Sequence ? UTF8Sequence.encode(name) : name;
+	}
+	
+	private CharSequence raw(final CharSequence name) {
+		if (this.json instanceof UTF8Sequence) {
+			for (int i = 0, length = name.length(); i < length; ++i) {
+				if (name.charAt(i) >= 0x80) {
+					return UTF8Sequence.encode(name.toString());
+				}
+			}
+		}
+		return name;
+	}
+	
+	// Store the materialized name of a field and return it.
+	// Several threads may grow the names of a frozen object at once, the names they find are then stored into the names that won.
+	// A name stored into names that are replaced at the same time may be lost, it is only materialized again in that case.
+	private String name(final int field, final String name) {
+		String[] names = (String[]) NAMES.getAcquire(this);
+		
+		while (names == null || field >= names.length) {
+			final String[] grown = names == null ? new String[Math.max(this.fields.length / FIELD, field + 1)] : Arrays.copyOf(names, Math.max(names.length << 1, field + 1));
+			final String[] witness = (String[]) NAMES.compareAndExchangeRelease(this, names, grown);
+			
+			names = witness == names ? grown : witness;
+		}
+		NAME_SLOTS.setRelease(names, field, name);
+		return name;
+	}
+	
+	private void rehash(final int length) {
+		final int[] table = new int[length];
+		final int mask = length - 1;
+		
+		for (int field = 0; field < this.size; ++field) {
+			int slot = JSONObject.spread(this.fields[field * FIELD + HASH]) & mask;
+			
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = field + 1;
+		}
+		this.table = table;
+	}
+	
+	@Override
+	protected void detach() {
+		final StringBuilder builder = new StringBuilder(this.json.length());
+		
+		// Lay the fields out the same way JSONObject#toString() does, the names are hashed again since their characters are decoded.
+		for (int field = 0; field < this.size; ++field) {
+			final int offset = field * FIELD;
+			
+			if (this.fields[offset + NAME_LOWER] >= 0) {
+				builder.append('"');
+				
+				final int nameLower = builder.length();
+				JSONUtils.append(builder, this.json, this.fields[offset + NAME_LOWER], this.fields[offset + NAME_UPPER]);
+				
+				this.fields[offset + NAME_LOWER] = nameLower;
+				this.fields[offset + NAME_UPPER] = builder.length();
+				this.fields[offset + HASH] = JSONUtils.hash(builder, nameLower, builder.length());
+				
+				builder.append("\":");
 			} else {
-				first = false;
+				this.fields[offset + HASH] = this.names[field].hashCode();
 			}
-			final int[] value = entry.getValue();
-			string.append('"').append(entry.getKey()).append("\":").append(this.builder.subSequence(value[0], value[1]));
+			final int valueLower = builder.length();
+			JSONUtils.append(builder, this.json, this.fields[offset + VALUE_LOWER], this.fields[offset + VALUE_UPPER]);
+			
+			this.fields[offset + VALUE_LOWER] = valueLower;
+			this.fields[offset + VALUE_UPPER] = builder.length();
+			
+			builder.append(',');
 		}
-		string.append('}');
+		this.json = builder;
+		this.tape = null;
+		this.entries = null;
+		this.values = null;
 		
-		return string.toString();
+		this.rehash(this.table.length);
+	}
+	
+	// Spread the higher bits of the hash code to the lower ones, since only the lower ones select the slot.
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+	
+	@Override
+	public String toString() {
+		// The characters may be shared with other components, so the capacity is taken from the bounds of the fields.
+		int length = 2;
+		
+		for (int offset = 0, end = this.size * FIELD; offset < end; offset += FIELD) {
+			length += this.fields[offset + NAME_UPPER] - this.fields[offset + NAME_LOWER] + this.fields[offset + VALUE_UPPER] - this.fields[offset + VALUE_LOWER] + 4;
+		}
+		return this.appendTo(new StringBuilder(length)).toString();
+	}
+	
+	@Override
+	protected void write(final Sink sink) throws IOException {
+		sink.write('{');
+		
+		for (int field = 0; field < this.size; ++field) {
+			if (field != 0) {
+				sink.write(',');
+			}
+			final int offset = field * FIELD;
+			sink.write('"');
+			
+			if (this.fields[offset + NAME_LOWER] < 0) {
+				final String name = (String) NAME_SLOTS.getAcquire((String[]) NAMES.getAcquire(this), field);
+				sink.write(name, 0, name.length());
+			} else {
+				sink.write(this.json, this.fields[offset + NAME_LOWER], this.fields[offset + NAME_UPPER]);
+			}
+			sink.write('"');
+			sink.write(':');
+			sink.write(this.json, this.fields[offset + VALUE_LOWER], this.fields[offset + VALUE_UPPER]);
+		}
+		sink.write('}');
 	}
 }
\ No newline at end of file
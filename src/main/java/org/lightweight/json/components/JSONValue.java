@@ -1,41 +1,302 @@
 package org.lightweight.json.components;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.UUID;
 
 import org.lightweight.json.JSONParser;
+import org.lightweight.json.JSONTape;
+import org.lightweight.json.utils.CharSequenceView;
+import org.lightweight.json.utils.JSONNumbers;
 import org.lightweight.json.utils.JSONUtils;
+import org.lightweight.json.utils.SymbolTable;
+import org.lightweight.json.utils.UTF8Sequence;
 
 /**
  * A class representing a value of JSON.
  */
 public class JSONValue extends JSONComponent {
-	private final int[] indexes;
+	// The value is kept with release semantics and read with acquire semantics, so a component parsed by one thread is
+	// only seen fully placed by the threads reading a frozen value.
+	private static final VarHandle VALUE;
 	
-	public JSONValue(final StringBuilder json, final int[] indexes) {
-		super(json);
+	static {
+		try {
+			VALUE = MethodHandles.lookup().findVarHandle(JSONValue.class, "value", Object.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	private int lower, upper;
+	
+	// The tape the value was navigated from and its entry, the entry is -1 if the value has to be parsed.
+	private JSONTape tape;
+	private int entry;
+	
+	// The cache this value was navigated to through and what the value was first read as, both are null if the value is not cached.
+	private final JSONCache cache;
+	private Object value;
+	
+	public JSONValue(final CharSequence json, final int[] indexes) {
+		this(json, indexes[0], indexes[1]);
+	}
+	
+	public JSONValue(final CharSequence json, final int lower, final int upper) {
+		this(json, lower, upper, null, -1);
+	}
+	
+	public JSONValue(final CharSequence json, final int lower, final int upper, final JSONTape tape, final int entry) {
+		this(json, lower, upper, tape, entry, null, null, false);
+	}
+	
+	// A value navigated to from a frozen component is frozen as well.
+	JSONValue(final CharSequence json, final int lower, final int upper, final JSONTape tape, final int entry, final JSONCache cache, final SymbolTable symbols, final boolean frozen) {
+		super(json, false);
 		
-		this.indexes = indexes;
+		this.lower = lower;
+		this.upper = upper;
+		this.tape = tape;
+		this.entry = entry;
+		this.cache = cache;
+		this.symbols = symbols;
+		this.frozen = frozen;
 	}
 	
+	/**
+	 * Parses this value as {@link JSONArray}, or returns the array it was parsed as before if this value is cached.
+	 * 
+	 * @return the {@link JSONArray} of this value, which shares the cache and the symbol table of this value and is frozen if this value is.
+	 * @throws org.lightweight.json.exceptions.JSONParseException if this value is not a JSON array.
+	 * 
+	 * @see JSONCache
+	 */
 	public JSONArray getAsJSONArray() {
-		return JSONParser.parseArray(this.builder, this.indexes[0], this.indexes[1]);
+		final Object value = VALUE.getAcquire(this);
+		
+		if (value instanceof JSONArray) {
+			return (JSONArray) value;
+		}
+		final JSONArray array = this.entry >= 0 ? this.tape.getAsJSONArray(this.entry) : JSONParser.parseArray(new JSONArray(this.json, false), this.lower, this.upper);
+		
+		if (this.cache != null) {
+			array.setCache(this.cache);
+		}
+		array.symbols = this.symbols;
+		
+		if (this.frozen) {
+			array.freeze(this.json);
+		}
+		// Another thread may have kept its array first, every thread then returns the kept array.
+		if (this.cache != null) {
+			final Object kept = this.memoize(array, array.footprint());
+			
+			if (kept instanceof JSONArray) {
+				return (JSONArray) kept;
+			}
+		}
+		return array;
 	}
 	
+	/**
+	 * Parses this value as {@link JSONObject}, or returns the object it was parsed as before if this value is cached.
+	 * 
+	 * @return the {@link JSONObject} of this value, which shares the cache and the symbol table of this value and is frozen if this value is.
+	 * @throws org.lightweight.json.exceptions.JSONParseException if this value is not a JSON object.
+	 * 
+	 * @see JSONCache
+	 */
 	public JSONObject getAsJSONObject() {
-		return JSONParser.parseObject(this.builder, this.indexes[0], this.indexes[1]);
+		final Object value = VALUE.getAcquire(this);
+		
+		if (value instanceof JSONObject) {
+			return (JSONObject) value;
+		}
+		final JSONObject object = this.entry >= 0 ? this.tape.getAsJSONObject(this.entry) : JSONParser.parseObject(new JSONObject(this.json, false), this.lower, this.upper);
+		
+		if (this.cache != null) {
+			object.setCache(this.cache);
+		}
+		object.symbols = this.symbols;
+		
+		if (this.frozen) {
+			object.freeze(this.json);
+		}
+		if (this.cache != null) {
+			final Object kept = this.memoize(object, object.footprint());
+			
+			if (kept instanceof JSONObject) {
+				return (JSONObject) kept;
+			}
+		}
+		return object;
 	}
 	
 	public String getAsString() {
-		final String string = this.toString();
-		return JSONUtils.unescapeAsString(string.substring(string.charAt(0) == '"' ? 1 : 0, string.charAt(string.length() - 1) == '"' ? string.length() - 1 : string.length()));
+		final Object value = VALUE.getAcquire(this);
+		
+		if (value instanceof String) {
+			return (String) value;
+		}
+		final String string = JSONValue.getAsString(this.json, this.lower, this.upper);
+		
+		if (this.cache != null) {
+			this.memoize(string, JSONCache.sizeOf(string));
+		}
+		return string;
+	}
+	
+	// Keep what this value was read as, only the first thing it is read as is kept and only if the cache has room for it.
+	// Return what is kept, which is what another thread kept if it was first, or null if nothing is kept.
+	private Object memoize(final Object value, final long bytes) {
+		final Object kept = VALUE.getAcquire(this);
+		
+		if (kept != null || !this.cache.reserve(bytes)) {
+			return kept;
+		}
+		final Object witness = VALUE.compareAndExchangeRelease(this, null, value);
+		return witness == null ? value : witness;
+	}
+	
+	/**
+	 * Returns the content of this value the same way as {@link JSONValue#getAsString()}, without copying it if possible.
+	 * <p>If the content has no escape sequences (and no encoded characters if the value is backed by bytes), the returned
+	 * sequence is a view of the characters this value is stored in, which must not be modified while the view is in use.
+	 * Otherwise the content is unescaped to a new {@link String}.</p>
+	 * 
+	 * @return the content of this value, without its quotes.
+	 */
+	public CharSequence getAsCharSequence() {
+		final Object value = VALUE.getAcquire(this);
+		
+		if (value instanceof String) {
+			return (String) value;
+		}
+		final int lower = JSONValue.contentLower(this.json, this.lower, this.upper), upper = JSONValue.contentUpper(this.json, lower, this.upper);
+		final boolean bytes = this.json instanceof UTF8Sequence;
+		
+		for (int i = lower; i < upper; ++i) {
+			final char read = this.json.charAt(i);
+			
+			if (read == '\\' || bytes && read >= 0x80) {
+				return this.getAsString();
+			}
+		}
+		return bytes ? ((UTF8Sequence) this.json).subSequence(lower, upper) : new CharSequenceView(this.json, lower, upper);
+	}
+	
+	/**
+	 * Compares the content of this value to {@code text} without copying it, unless it has escape sequences or encoded characters.
+	 * 
+	 * @param text - the characters that are compared.
+	 * @return true if {@link JSONValue#getAsString()} would return the same characters as {@code text}, false otherwise.
+	 */
+	public boolean contentEquals(final CharSequence text) {
+		return JSONValue.contentEquals(this.json, this.lower, this.upper, text);
+	}
+	
+	/**
+	 * Computes the hash code of the content of this value without copying it, unless it has escape sequences or encoded characters.
+	 * 
+	 * @return the same hash code as {@link JSONValue#getAsString()}{@code .hashCode()}.
+	 */
+	public int contentHashCode() {
+		final int lower = JSONValue.contentLower(this.json, this.lower, this.upper), upper = JSONValue.contentUpper(this.json, lower, this.upper);
+		final boolean bytes = this.json instanceof UTF8Sequence;
+		int hash = 0;
+		
+		for (int i = lower; i < upper; ++i) {
+			final char read = this.json.charAt(i);
+			
+			if (read == '\\' || bytes && read >= 0x80) {
+				return this.getAsString().hashCode();
+			}
+			hash = 31 * hash + read;
+		}
+		return hash;
+	}
+	
+	/**
+	 * Returns the content of the value of {@code json} from bounds {@code valueLower} to {@code valueUpper} the same way as
+	 * {@link JSONValue#getAsString()}, without creating a {@link JSONValue} first.
+	 * <p>The characters are only copied once if there is nothing to unescape.</p>
+	 * 
+	 * @param json - the characters the value is stored in.
+	 * @param valueLower - the lower bound of the value, including its opening quote if it has one.
+	 * @param valueUpper - the upper bound of the value, including its closing quote if it has one.
+	 * @return the unescaped content of the value.
+	 */
+	public static String getAsString(final CharSequence json, final int valueLower, final int valueUpper) {
+		final int lower = JSONValue.contentLower(json, valueLower, valueUpper), upper = JSONValue.contentUpper(json, lower, valueUpper);
+		
+		for (int i = lower; i < upper; ++i) {
+			if (json.charAt(i) == '\\') {
+				// Encoded characters are decoded before they are unescaped.
+				return json instanceof UTF8Sequence ? JSONUtils.unescapeAsString(((UTF8Sequence) json).decode(lower, upper)) : JSONUtils.unescape(json, lower, upper).toString();
+			}
+		}
+		return json.subSequence(lower, upper).toString();
+	}
+	
+	/**
+	 * Compares the content of the value of {@code json} from bounds {@code valueLower} to {@code valueUpper} to {@code text}
+	 * the same way as {@link JSONValue#contentEquals(CharSequence)}, without creating a {@link JSONValue} first.
+	 * 
+	 * @param json - the characters the value is stored in.
+	 * @param valueLower - the lower bound of the value, including its opening quote if it has one.
+	 * @param valueUpper - the upper bound of the value, including its closing quote if it has one.
+	 * @param text - the characters that are compared.
+	 * @return true if the content of the value is the same characters as {@code text}, false otherwise.
+	 */
+	public static boolean contentEquals(final CharSequence json, final int valueLower, final int valueUpper, final CharSequence text) {
+		final int lower = JSONValue.contentLower(json, valueLower, valueUpper), upper = JSONValue.contentUpper(json, lower, valueUpper);
+		final int length = text.length();
+		final boolean bytes = json instanceof UTF8Sequence;
+		
+		for (int i = lower; i < upper; ++i) {
+			final char read = json.charAt(i);
+			
+			// The characters read so far are the same in the content, so only the rest has to be unescaped or decoded.
+			if (read == '\\' || bytes && read >= 0x80) {
+				return JSONValue.getAsString(json, valueLower, valueUpper).contentEquals(text);
+			}
+			if (i - lower == length || read != text.charAt(i - lower)) {
+				return false;
+			}
+		}
+		return upper - lower == length;
+	}
+	
+	// The content of a value excludes its quotes, if it has them.
+	private static int contentLower(final CharSequence json, final int lower, final int upper) {
+		return lower != upper && json.charAt(lower) == '"' ? lower + 1 : lower;
+	}
+	
+	private static int contentUpper(final CharSequence json, final int lower, final int upper) {
+		return lower != upper && json.charAt(upper - 1) == '"' ? upper - 1 : upper;
 	}
 	
 	public boolean getAsBoolean() {
-		return Boolean.parseBoolean(this.toString());
+		final Object kept = VALUE.getAcquire(this);
+		
+		if (kept instanceof Boolean) {
+			return (Boolean) kept;
+		}
+		final boolean value = Boolean.parseBoolean(this.toString());
+		
+		// The instances of Boolean are shared, only the reference is kept.
+		if (this.cache != null) {
+			this.memoize(value, JSONCache.REFERENCE);
+		}
+		return value;
 	}
 	
 	public byte getAsByte() {
-		return Byte.parseByte(this.toString());
+		final int value = this.getAsInt();
+		
+		// Let Byte#parseByte(String) throw the same exception it would for a value out of range.
+		return value == (byte) value ? (byte) value : Byte.parseByte(this.toString());
 	}
 	
 	public char getAsCharacter() {
@@ -43,31 +304,92 @@ public class JSONValue extends JSONComponent {
 	}
 	
 	public short getAsShort() {
-		return Short.parseShort(this.toString());
+		final int value = this.getAsInt();
+		
+		return value == (short) value ? (short) value : Short.parseShort(this.toString());
 	}
 	
 	public int getAsInt() {
-		return Integer.parseInt(this.toString());
+		// A number that was read as long before is only returned if it is in the range of int, otherwise parsing it throws.
+		final Object kept = VALUE.getAcquire(this);
+		
+		if (kept instanceof Long && (Long) kept == ((Long) kept).intValue()) {
+			return ((Long) kept).intValue();
+		}
+		final int value;
+		
+		try {
+			value = Integer.parseInt(this.json, this.lower, this.upper, 10);
+		} catch (NumberFormatException e) {
+			// Parse the text again to throw the same exception as Integer.parseInt(String).
+			return Integer.parseInt(this.toString());
+		}
+		if (this.cache != null) {
+			this.memoize((long) value, JSONCache.NUMBER);
+		}
+		return value;
 	}
 	
 	public float getAsFloat() {
-		return Float.parseFloat(this.toString());
+		return JSONNumbers.parseFloat(this.json, this.lower, this.upper);
 	}
 	
 	public long getAsLong() {
-		return Long.parseLong(this.toString());
+		final Object kept = VALUE.getAcquire(this);
+		
+		if (kept instanceof Long) {
+			return (Long) kept;
+		}
+		final long value;
+		
+		try {
+			value = Long.parseLong(this.json, this.lower, this.upper, 10);
+		} catch (NumberFormatException e) {
+			// Parse the text again to throw the same exception as Long.parseLong(String).
+			return Long.parseLong(this.toString());
+		}
+		if (this.cache != null) {
+			this.memoize(value, JSONCache.NUMBER);
+		}
+		return value;
 	}
 	
 	public double getAsDouble() {
-		return Double.parseDouble(this.toString());
+		final Object kept = VALUE.getAcquire(this);
+		
+		if (kept instanceof Double) {
+			return (Double) kept;
+		}
+		final double value = JSONNumbers.parseDouble(this.json, this.lower, this.upper);
+		
+		if (this.cache != null) {
+			this.memoize(value, JSONCache.NUMBER);
+		}
+		return value;
 	}
 	
 	public UUID getAsUUID() {
 		return UUID.fromString(this.toString());
 	}
 	
+	@Override
+	protected void detach() {
+		final String value = this.toString();
+		
+		this.json = new StringBuilder(value);
+		this.lower = 0;
+		this.upper = value.length();
+		this.tape = null;
+		this.entry = -1;
+	}
+	
+	@Override
+	protected void write(final Sink sink) throws IOException {
+		sink.write(this.json, this.lower, this.upper);
+	}
+	
 	@Override
 	public String toString() {
-		return this.builder.substring(this.indexes[0], this.indexes[1]);
+		return this.json.subSequence(this.lower, this.upper).toString();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package org.lightweight.json.utils;
+
+/**
+ * A read-only view of the characters of another {@link CharSequence} between two bounds.
+ * <p>Unlike {@link StringBuilder#subSequence(int, int)}, no characters are copied until {@link CharSequenceView#toString()}
+ * is called. The viewed characters must not be modified while the view is in use.</p>
+ */
+public class CharSequenceView implements CharSequence {
+	private final CharSequence json;
+	private final int offset, length;
+	
+	public CharSequenceView(final CharSequence json, final int lower, final int upper) {
+		this.json = json;
+		this.offset = lower;
+		this.length = upper - lower;
+	}
+	
+	@Override
+	public int length() {
+		return this.length;
+	}
+	
+	@Override
+	public char charAt(final int index) {
+		return this.json.charAt(this.offset + index);
+	}
+	
+	@Override
+	public CharSequenceView subSequence(final int start, final int end) {
+		return new CharSequenceView(this.json, this.offset + start, this.offset + end);
+	}
+	
+	@Override
+	public String toString() {
+		return this.json.subSequence(this.offset, this.offset + this.length).toString();
+	}
+}
@@ -0,0 +1,246 @@
+package org.lightweight.json.utils;
+
+import java.math.BigInteger;
+
+/**
+ * Parses numbers of JSON straight from the characters they are stored in, without copying them to a {@link String} first.
+ * <p>Decimal numbers are converted with the algorithm of Clinger if the digits and the power of ten are exactly representable,
+ * otherwise with the algorithm of Eisel and Lemire, both are correctly rounded. A number that neither algorithm can convert
+ * (more than 19 significant digits, or text that is not a number of JSON) is passed to {@link Double#parseDouble(String)}
+ * or {@link Float#parseFloat(String)}, so the results and the exceptions are always the same as theirs.</p>
+ */
+public class JSONNumbers {
+	// The range of the powers of ten of the table, beyond it any double is either zero or infinite.
+	private static final int SMALLEST_POWER = -342, LARGEST_POWER = 308;
+	
+	// The powers of five from 5^-342 to 5^308, normalized to 128 bits and stored as pairs of the high and the low 64 bits.
+	private static final long[] POWERS_OF_FIVE = JSONNumbers.powersOfFive();
+	
+	// The powers of ten that are exactly representable.
+	private static final double[] DOUBLE_POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	private static final float[] FLOAT_POWERS_OF_TEN = {
+		1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+	};
+	
+	// The formats of double and float: the amount of explicit bits of the mantissa, the bias of the exponent, the exponent
+	// of the infinities, the range of powers of ten which can be exactly halfway between two values, and the range of the table.
+	private static final int[] DOUBLE = { 52, -1023, 0x7FF, -4, 23, -342, 308 };
+	private static final int[] FLOAT = { 23, -127, 0xFF, -17, 10, -65, 38 };
+	
+	/**
+	 * Parses the characters of {@code json} from bounds {@code lower} to {@code upper} as a {@code double}.
+	 * 
+	 * @param json - the characters the number is stored in.
+	 * @param lower - the lower bound of the number.
+	 * @param upper - the upper bound of the number.
+	 * @return the same value as {@link Double#parseDouble(String)}.
+	 * @throws NumberFormatException if the characters are not a number.
+	 */
+	public static double parseDouble(final CharSequence json, final int lower, final int upper) {
+		final long bits = JSONNumbers.parse(json, lower, upper, DOUBLE);
+		
+		if (bits == -1) {
+			return Double.parseDouble(json.subSequence(lower, upper).toString());
+		}
+		return Double.longBitsToDouble(bits);
+	}
+	
+	/**
+	 * Parses the characters of {@code json} from bounds {@code lower} to {@code upper} as a {@code float}.
+	 * 
+	 * @param json - the characters the number is stored in.
+	 * @param lower - the lower bound of the number.
+	 * @param upper - the upper bound of the number.
+	 * @return the same value as {@link Float#parseFloat(String)}.
+	 * @throws NumberFormatException if the characters are not a number.
+	 */
+	public static float parseFloat(final CharSequence json, final int lower, final int upper) {
+		final long bits = JSONNumbers.parse(json, lower, upper, FLOAT);
+		
+		if (bits == -1) {
+			return Float.parseFloat(json.subSequence(lower, upper).toString());
+		}
+		return Float.intBitsToFloat((int) bits);
+	}
+	
+	// Parse a number of JSON to the bits of the given format, return -1 if it is not one or has more than 19 significant digits.
+	private static long parse(final CharSequence json, final int lower, final int upper, final int[] format) {
+		int i = lower;
+		boolean negative = false;
+		
+		if (i < upper && json.charAt(i) == '-') {
+			negative = true;
+			++i;
+		}
+		long digits = 0; // Unsigned, 19 digits may exceed Long.MAX_VALUE.
+		int significant = 0, power = 0;
+		
+		// The integer part, which is either a single zero or does not start with a zero.
+		final int integer = i;
+		char read;
+		
+		while (i < upper && (read = json.charAt(i)) >= '0' && read <= '9') {
+			if (digits != 0 || read != '0') {
+				if (++significant > 19) {
+					return -1;
+				}
+				digits = digits * 10 + (read - '0');
+			}
+			++i;
+		}
+		if (i == integer || json.charAt(integer) == '0' && i - integer > 1) {
+			return -1;
+		}
+		// The fraction, every digit of it lowers the power of ten.
+		if (i < upper && json.charAt(i) == '.') {
+			final int fraction = ++i;
+			
+			while (i < upper && (read = json.charAt(i)) >= '0' && read <= '9') {
+				if (digits != 0 || read != '0') {
+					if (++significant > 19) {
+						return -1;
+					}
+					digits = digits * 10 + (read - '0');
+				}
+				--power;
+				++i;
+			}
+			if (i == fraction) {
+				return -1;
+			}
+		}
+		// The exponent, which is clamped since any larger one leads to zero or infinity anyway.
+		if (i < upper && ((read = json.charAt(i)) == 'e' || read == 'E')) {
+			boolean below = false;
+			
+			if (++i < upper && ((read = json.charAt(i)) == '-' || read == '+')) {
+				below = read == '-';
+				++i;
+			}
+			final int exponent = i;
+			int value = 0;
+			
+			while (i < upper && (read = json.charAt(i)) >= '0' && read <= '9') {
+				if (value < 100000) {
+					value = value * 10 + (read - '0');
+				}
+				++i;
+			}
+			if (i == exponent) {
+				return -1;
+			}
+			power += below ? -value : value;
+		}
+		if (i != upper) {
+			return -1;
+		}
+		long bits;
+		
+		// Both the digits and the power of ten are exact, so a single operation is correctly rounded.
+		if (format == DOUBLE && digits >= 0 && digits <= 1L << 53 && power >= -22 && power <= 22) {
+			bits = Double.doubleToRawLongBits(power < 0 ? digits / DOUBLE_POWERS_OF_TEN[-power] : digits * DOUBLE_POWERS_OF_TEN[power]);
+		} else if (format == FLOAT && digits >= 0 && digits <= 1 << 24 && power >= -10 && power <= 10) {
+			bits = Float.floatToRawIntBits(power < 0 ? digits / FLOAT_POWERS_OF_TEN[-power] : digits * FLOAT_POWERS_OF_TEN[power]);
+		} else if ((bits = JSONNumbers.compute(digits, power, format)) == -1) {
+			return -1;
+		}
+		// The sign bit follows the bits of the exponent.
+		return negative ? bits | 1L << (format == DOUBLE ? 63 : 31) : bits;
+	}
+	
+	// Compute the bits of digits * 10^power in the given format with the algorithm of Eisel and Lemire, the sign bit is not set.
+	// Return -1 if the product is not precise enough to decide the rounding.
+	private static long compute(long digits, final int power, final int[] format) {
+		final int explicit = format[0], bias = format[1], infinite = format[2];
+		
+		if (digits == 0 || power < format[5]) {
+			return 0;
+		}
+		if (power > format[6]) {
+			return (long) infinite << explicit;
+		}
+		final int zeros = Long.numberOfLeadingZeros(digits);
+		digits <<= zeros;
+		
+		// Multiply the digits by the truncated power of five, the low product is only needed if the high one might be inexact.
+		final int index = 2 * (power - SMALLEST_POWER);
+		long high = JSONNumbers.multiplyHigh(digits, POWERS_OF_FIVE[index]);
+		long low = digits * POWERS_OF_FIVE[index];
+		final long precision = -1L >>> (explicit + 3);
+		
+		if ((high & precision) == precision) {
+			final long carry = JSONNumbers.multiplyHigh(digits, POWERS_OF_FIVE[index + 1]);
+			
+			low += carry;
+			if (Long.compareUnsigned(carry, low) > 0) {
+				++high;
+			}
+		}
+		if (low == -1L && (power < -27 || power > 55)) {
+			return -1;
+		}
+		final int upper = (int) (high >>> 63);
+		long mantissa = high >>> (upper + 64 - explicit - 3);
+		int exponent = ((217706 * power) >> 16) + 63 + upper - zeros - bias;
+		
+		// The value is subnormal.
+		if (exponent <= 0) {
+			if (-exponent + 1 >= 64) {
+				return 0;
+			}
+			mantissa >>>= -exponent + 1;
+			mantissa += mantissa & 1;
+			mantissa >>>= 1;
+			exponent = mantissa < 1L << explicit ? 0 : 1;
+			
+			return (long) exponent << explicit | mantissa & ~(1L << explicit);
+		}
+		// The value is exactly halfway between two values, round it to even.
+		if (Long.compareUnsigned(low, 1) <= 0 && power >= format[3] && power <= format[4] && (mantissa & 3) == 1) {
+			if (mantissa << (upper + 64 - explicit - 3) == high) {
+				mantissa &= ~1L;
+			}
+		}
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		
+		if (mantissa >= 2L << explicit) {
+			mantissa = 1L << explicit;
+			++exponent;
+		}
+		mantissa &= ~(1L << explicit);
+		
+		if (exponent >= infinite) {
+			return (long) infinite << explicit;
+		}
+		return (long) exponent << explicit | mantissa;
+	}
+	
+	// Return the high 64 bits of the unsigned product of a and b.
+	private static long multiplyHigh(final long a, final long b) {
+		return Math.multiplyHigh(a, b) + (a >> 63 & b) + (b >> 63 & a);
+	}
+	
+	// Compute the table of the powers of five, the negative powers are rounded up and the positive ones truncated.
+	private static long[] powersOfFive() {
+		final long[] powers = new long[2 * (LARGEST_POWER - SMALLEST_POWER + 1)];
+		final BigInteger five = BigInteger.valueOf(5);
+		
+		for (int q = SMALLEST_POWER; q <= LARGEST_POWER; ++q) {
+			BigInteger power = five.pow(Math.abs(q));
+			
+			if (q < 0) {
+				final int bits = power.bitLength();
+				power = BigInteger.ONE.shiftLeft(q >= -27 ? bits + 127 : 2 * bits + 128).divide(power).add(BigInteger.ONE);
+			}
+			power = power.bitLength() > 128 ? power.shiftRight(power.bitLength() - 128) : power.shiftLeft(128 - power.bitLength());
+			
+			final int index = 2 * (q - SMALLEST_POWER);
+			powers[index] = power.shiftRight(64).longValue();
+			powers[index + 1] = power.longValue();
+		}
+		return powers;
+	}
+}
@@ -1,11 +1,59 @@
 package org.lightweight.json.utils;
 
+import java.util.Arrays;
+
 public class JSONUtils {
+	// The character following the backslash of the escape sequence of each special character, zero for the other ASCII characters.
+	// The control characters without a short escape sequence are escaped as 'u' followed by four hexadecimal digits.
+	private static final byte[] ESCAPES = new byte[128];
+	
+	// The special character of each character that can follow a backslash, zero for the other ASCII characters (and 'u').
+	private static final char[] UNESCAPES = new char[128];
+	
+	// The value of each hexadecimal digit, -1 for the other ASCII characters.
+	private static final byte[] HEX_DIGITS = new byte[128];
+	
+	static {
+		final String special = "\"\\/\b\f\n\r\t", escaped = "\"\\/bfnrt";
+		
+		Arrays.fill(ESCAPES, 0, ' ', (byte) 'u');
+		
+		for (int i = 0; i < special.length(); ++i) {
+			ESCAPES[special.charAt(i)] = (byte) escaped.charAt(i);
+			UNESCAPES[escaped.charAt(i)] = special.charAt(i);
+		}
+		Arrays.fill(HEX_DIGITS, (byte) -1);
+		
+		for (int i = 0; i < 16; ++i) {
+			HEX_DIGITS["0123456789abcdef".charAt(i)] = (byte) i;
+			HEX_DIGITS["0123456789ABCDEF".charAt(i)] = (byte) i;
+		}
+	}
+	
 	// Check if a character is a whitespace character.
 	public static boolean isWhitespace(final char character) {
 		return character == ' ' || character == '\n' || character == '\r' || character == '\t';
 	}
 	
+	// Append the characters of json from bounds lower to upper to string, decoding them if json is a UTF8Sequence.
+	public static void append(final StringBuilder string, final CharSequence json, final int lower, final int upper) {
+		if (json instanceof UTF8Sequence) {
+			((UTF8Sequence) json).appendTo(string, lower, upper);
+		} else {
+			string.append(json, lower, upper);
+		}
+	}
+	
+	// Compute the hash code of the characters of json from bounds lower to upper the same way as String#hashCode().
+	public static int hash(final CharSequence json, final int lower, final int upper) {
+		int hash = 0;
+		
+		for (int i = lower; i < upper; ++i) {
+			hash = 31 * hash + json.charAt(i);
+		}
+		return hash;
+	}
+	
 	// Check if the character read is not the opening/closing character of a string in JSON ('"'),
 	// if it is, append it to the name and return true, otherwise return false.
 	public static boolean append(final StringBuilder name, final char read, final CharSequence json, int i) {
@@ -80,50 +128,9 @@ public class JSONUtils {
 	 * @see JSONUtils#escapeAsString(String)
 	 */
 	public static StringBuilder escape(final CharSequence text) {
-		final int length = text.length();
-		final StringBuilder escaped = new StringBuilder(length);
+		final StringBuilder escaped = new StringBuilder(text.length() + 16);
+		JSONUtils.appendEscaped(text, escaped);
 		
-		for (int i = 0; i < length; ++i) {
-			final char read = text.charAt(i);
-			
-			switch (read) {
-				case '"': {
-	            	escaped.append("\\\"");
-	                break;
-	            }
-	            case '\\': {
-	            	escaped.append("\\\\");
-	                break;
-	            }
-	            case '/': {
-	            	escaped.append("\\/");
-	            	break;
-	            }
-	            case '\b': {
-	            	escaped.append("\\b");
-	                break;
-	            }
-	            case '\f': {
-	            	escaped.append("\\f");
-	                break;
-	            }
-	            case '\n': {
-	            	escaped.append("\\n");
-	                break;
-	            }
-	            case '\r': {
-	            	escaped.append("\\r");
-	                break;
-	            }
-	            case '\t': {
-	            	escaped.append("\\t");
-	                break;
-	            }
-				default: {
-					escaped.append(read);
-				}
-			}
-		}
 		return escaped;
 	}
 	
@@ -131,11 +138,14 @@ public class JSONUtils {
 	 * Escapes all of the special characters found in {@code string}.
 	 * 
 	 * @param string - the {@link String} that will be escaped.
-	 * @return {@link JSONUtils#escape(String)}{@code .toString()}.
+	 * @return {@link JSONUtils#escape(String)}{@code .toString()}, or {@code text} itself if it is a {@link String} without special characters.
 	 * 
 	 * @see JSONUtils#escape(String)
 	 */
 	public static String escapeAsString(final CharSequence text) {
+		if (JSONUtils.indexOfSpecial(text, 0, text.length()) == text.length()) {
+			return text.toString();
+		}
 		return JSONUtils.escape(text).toString();
 	}
 	
@@ -148,128 +158,127 @@ public class JSONUtils {
 	 * @see JSONUtils#unescapeAsString(String)
 	 */
 	public static StringBuilder unescape(final CharSequence text) {
-		final int length = text.length(), readable = length - 1;
-        final StringBuilder unescaped = new StringBuilder(length);
-        
-        for (int i = 0; i < length; ++i) {
-            char read = text.charAt(i);
-            
-            if (read == '\\' && i != readable) {
-                switch (text.charAt(i + 1)) {
-	                case '"': {
-	                	read = '"';
-	                	++i;
-	                    break;
-	                }
-	                case '\\': {
-	                	read = '\\';
-	                	++i;
-	                    break;
-	                }
-	                case '/': {
-	                	read = '/';
-	                	++i;
-	                	break;
-	                }
-	                case 'b': {
-	                	read = '\b';
-	                	++i;
-	                    break;
-	                }
-	                case 'f': {
-	                	read = '\f';
-	                	++i;
-	                    break;
-	                }
-	                case 'n': {
-	                	read = '\n';
-	                	++i;
-	                    break;
-	                }
-	                case 'r': {
-	                	read = '\r';
-	                	++i;
-	                    break;
-	                }
-	                case 't': {
-	                	read = '\t';
-	                	++i;
-	                    break;
-	                }
-	                case 'u': {
-	                    if (i > readable - 5) {
-	                    	read = 'u';
-	                        break;
-	                    }
-	                    unescaped.append(Character.toChars(Integer.parseInt(text.subSequence(i += 2, i += 3).toString(), 16)));
-	                    continue;
-	                }
-	                default: {
-	                	break;
-	                }
-	            }
-            }
-            unescaped.append(read);
-        }
-        return unescaped;
-    }
+		return JSONUtils.unescape(text, 0, text.length());
+	}
+	
+	/**
+	 * Unescapes all of the escaped special characters found in {@code text} from bounds {@code lower} to {@code upper}.
+	 * <p>The characters between two escape sequences are copied at once, an escape sequence of four hexadecimal digits
+	 * is decoded to a single character (a surrogate pair is formed by two consecutive sequences). A backslash that does not start a valid escape sequence is kept.</p>
+	 * 
+	 * @param text - the characters that will be unescaped.
+	 * @param lower - the lower bound of the characters.
+	 * @param upper - the upper bound of the characters.
+	 * @return a {@link StringBuilder} object with all special characters unescaped.
+	 * 
+	 * @see JSONUtils#unescape(CharSequence)
+	 */
+	public static StringBuilder unescape(final CharSequence text, final int lower, final int upper) {
+		final StringBuilder unescaped = new StringBuilder(upper - lower);
+		
+		for (int start = lower, i; start < upper; start = i) {
+			// Copy the characters up to the next backslash at once.
+			i = JSONUtils.indexOf(text, '\\', start, upper);
+			unescaped.append(text, start, i);
+			
+			if (i == upper) {
+				break;
+			}
+			final char escaped = i + 1 < upper ? text.charAt(i + 1) : 0;
+			final char special = escaped < 128 ? UNESCAPES[escaped] : 0;
+			final int code;
+			
+			if (special != 0) {
+				unescaped.append(special);
+				i += 2;
+			} else if (escaped == 'u' && i + 5 < upper && (code = JSONUtils.hex(text, i + 2)) >= 0) {
+				unescaped.append((char) code);
+				i += 6;
+			} else {
+				unescaped.append('\\');
+				++i;
+			}
+		}
+		return unescaped;
+	}
 	
 	/**
 	 * Unescapes all of the escaped special characters found in {@code string}.
 	 * 
 	 * @param string - the {@link String} that will be unescaped.
-	 * @return {@link JSONUtils#unescape(String)}{@code .toString()}.
+	 * @return {@link JSONUtils#unescape(String)}{@code .toString()}, or {@code parsed} itself if it is a {@link String} without backslashes.
 	 * 
 	 * @see JSONUtils#unescape(String)
 	 */
 	public static String unescapeAsString(final CharSequence parsed) {
+		if (JSONUtils.indexOf(parsed, '\\', 0, parsed.length()) == parsed.length()) {
+			return parsed.toString();
+		}
 		return JSONUtils.unescape(parsed).toString();
 	}
 	
 	public static void appendEscaped(final CharSequence text, final StringBuilder string) {
 		final int length = text.length();
 		
-		for (int i = 0; i < length; ++i) {
+		for (int start = 0, i; start < length; start = i + 1) {
+			// Copy the characters up to the next special character at once.
+			i = JSONUtils.indexOfSpecial(text, start, length);
+			string.append(text, start, i);
+			
+			if (i == length) {
+				break;
+			}
+			final char read = text.charAt(i), escaped = (char) ESCAPES[read];
+			
+			string.append('\\').append(escaped);
+			
+			if (escaped == 'u') {
+				string.append("00").append(Character.forDigit(read >> 4, 16)).append(Character.forDigit(read & 0xF, 16));
+			}
+		}
+	}
+	
+	// Return the character following the backslash of the escape sequence of a character, zero if it is not escaped.
+	// The escape sequence of a character for which 'u' is returned goes on with the four hexadecimal digits of the character.
+	public static char escaped(final char character) {
+		return character < 128 ? (char) ESCAPES[character] : 0;
+	}
+	
+	// Return the index of the first special character of text from bounds lower to upper, or upper if there is none.
+	public static int indexOfSpecial(final CharSequence text, final int lower, final int upper) {
+		for (int i = lower; i < upper; ++i) {
 			final char read = text.charAt(i);
 			
-			switch (read) {
-				case '"': {
-					string.append('\\').append('"');
-	                break;
-	            }
-	            case '\\': {
-	            	string.append('\\').append('\\');
-	                break;
-	            }
-	            case '/': {
-	            	string.append('\\').append('/');
-	            	break;
-	            }
-	            case '\b': {
-	            	string.append('\\').append('b');
-	                break;
-	            }
-	            case '\f': {
-	            	string.append('\\').append('f');
-	                break;
-	            }
-	            case '\n': {
-	            	string.append('\\').append('n');
-	                break;
-	            }
-	            case '\r': {
-	            	string.append('\\').append('r');
-	                break;
-	            }
-	            case '\t': {
-	            	string.append('\\').append('t');
-	                break;
-	            }
-				default: {
-					string.append(read);
-					break;
-				}
+			if (read < 128 && ESCAPES[read] != 0) {
+				return i;
+			}
+		}
+		return upper;
+	}
+	
+	// Return the index of the first character of text from bounds lower to upper, or upper if there is none.
+	private static int indexOf(final CharSequence text, final char character, final int lower, final int upper) {
+		for (int i = lower; i < upper; ++i) {
+			if (text.charAt(i) == character) {
+				return i;
+			}
+		}
+		return upper;
+	}
+	
+	// Return the value of the four hexadecimal digits of text starting at index i, or -1 if one of them is not a hexadecimal digit.
+	private static int hex(final CharSequence text, final int i) {
+		int value = 0;
+		
+		for (int j = i; j < i + 4; ++j) {
+			final char read = text.charAt(j);
+			final int digit = read < 128 ? HEX_DIGITS[read] : -1;
+			
+			if (digit < 0) {
+				return -1;
 			}
+			value = value << 4 | digit;
 		}
+		return value;
 	}
-}
\ No newline at end of file
+}
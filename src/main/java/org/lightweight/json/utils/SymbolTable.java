@@ -0,0 +1,154 @@
+package org.lightweight.json.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of canonical {@link String} instances for names that are materialized repeatedly, such as the names of the fields of JSON objects.
+ * <p>The symbols are looked up by the hash code and the characters of a name in the characters it is stored in, so a name
+ * that was seen before is returned without creating a new {@link String}. The table is split into sets of a few symbols
+ * each, a full set either evicts its oldest symbol or keeps its symbols, depending on the {@link Eviction} of the table.</p>
+ * <p>A table may be shared by several threads, races between them can only lead to a symbol being cached twice or not at all.
+ * There is no table by default, a table is only used by the components, the contexts and the readers it is given to, see
+ * {@link org.lightweight.json.components.JSONComponent#setSymbolTable(SymbolTable)}, {@link org.lightweight.json.JSONParser.Context#setSymbolTable(SymbolTable)}
+ * and {@link org.lightweight.json.JSONReader#setSymbolTable(SymbolTable)}.</p>
+ */
+public class SymbolTable {
+	/**
+	 * What happens when a symbol is added to a full set of the table.
+	 */
+	public enum Eviction {
+		/**
+		 * The oldest symbol of the set is evicted.
+		 */
+		OLDEST,
+		/**
+		 * The symbols of the set are kept, the new symbol is not cached.
+		 */
+		NONE
+	}
+	
+	// The amount of symbols of a set.
+	private static final int WAYS = 4;
+	
+	// The sets of symbols, the symbols of a set are ordered from the newest to the oldest.
+	private final String[] symbols;
+	private final int mask;
+	private final Eviction eviction;
+	
+	private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+	
+	/**
+	 * @param capacity - the maximum amount of symbols, rounded up to a power of two.
+	 * @param eviction - what happens when a symbol is added to a full set.
+	 */
+	public SymbolTable(final int capacity, final Eviction eviction) {
+		final int sets = Integer.highestOneBit(Math.max(capacity / WAYS, 1) * 2 - 1);
+		
+		this.symbols = new String[sets * WAYS];
+		this.mask = sets - 1;
+		this.eviction = eviction;
+	}
+	
+	public SymbolTable(final int capacity) {
+		this(capacity, Eviction.OLDEST);
+	}
+	
+	/**
+	 * Returns the canonical instance of the characters of {@code json} from bounds {@code lower} to {@code upper}.
+	 * <p>Names with encoded characters of a {@link UTF8Sequence} are decoded without being cached.</p>
+	 * 
+	 * @param json - the characters the name is stored in.
+	 * @param lower - the lower bound of the name.
+	 * @param upper - the upper bound of the name.
+	 * @param hash - the hash code of the name, computed the same way as {@link String#hashCode()}.
+	 * @return the canonical {@link String} of the name.
+	 */
+	public String intern(final CharSequence json, final int lower, final int upper, final int hash) {
+		if (json instanceof UTF8Sequence) {
+			for (int i = lower; i < upper; ++i) {
+				if (json.charAt(i) >= 0x80) {
+					return ((UTF8Sequence) json).decode(lower, upper);
+				}
+			}
+		}
+		final int set = SymbolTable.spread(hash) & this.mask, offset = set * WAYS;
+		
+		for (int way = offset; way < offset + WAYS; ++way) {
+			final String symbol = this.symbols[way];
+			
+			if (symbol == null) {
+				break;
+			}
+			if (symbol.hashCode() == hash && SymbolTable.matches(symbol, json, lower, upper)) {
+				this.hits.increment();
+				return symbol;
+			}
+		}
+		return this.add(offset, json.subSequence(lower, upper).toString());
+	}
+	
+	/**
+	 * Returns the canonical instance of {@code symbol}, {@code symbol} itself becomes the canonical instance if there is none yet.
+	 * <p>Interning the names that are looked up ahead of time makes {@link org.lightweight.json.components.JSONObject#get(CharSequence)}
+	 * find them by identity.</p>
+	 * 
+	 * @param symbol - the symbol that will be interned.
+	 * @return the canonical instance of {@code symbol}.
+	 */
+	public String intern(final String symbol) {
+		return this.intern(symbol, 0, symbol.length(), symbol.hashCode());
+	}
+	
+	public long getHits() {
+		return this.hits.sum();
+	}
+	
+	public long getMisses() {
+		return this.misses.sum();
+	}
+	
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+	
+	/**
+	 * @return the ratio of the lookups that found their symbol, zero if there was no lookup yet.
+	 */
+	public double getHitRate() {
+		final long hits = this.hits.sum(), lookups = hits + this.misses.sum();
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+	
+	// Add a symbol to the set starting at offset as its newest symbol and return it.
+	private String add(final int offset, final String symbol) {
+		this.misses.increment();
+		
+		if (this.symbols[offset + WAYS - 1] != null) {
+			if (this.eviction == Eviction.NONE) {
+				return symbol;
+			}
+			this.evictions.increment();
+		}
+		System.arraycopy(this.symbols, offset, this.symbols, offset + 1, WAYS - 1);
+		this.symbols[offset] = symbol;
+		
+		return symbol;
+	}
+	
+	private static boolean matches(final String symbol, final CharSequence json, final int lower, final int upper) {
+		if (symbol.length() != upper - lower) {
+			return false;
+		}
+		for (int i = lower; i < upper; ++i) {
+			if (symbol.charAt(i - lower) != json.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	// Spread the higher bits of the hash code to the lower ones, since only the lower ones select the set.
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,190 @@
+package org.lightweight.json.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of UTF-8 encoded bytes that can be parsed without decoding them first.
+ * <p>{@link UTF8Sequence#charAt(int)} returns the bytes themselves (as unsigned values), which is enough for parsing since
+ * every character that has a meaning in JSON is encoded as a single byte and the bytes of other characters never
+ * collide with them. The bounds of the values are therefore byte offsets, and the bytes are only decoded once a
+ * value is read through {@link UTF8Sequence#toString()} or {@link UTF8Sequence#decode(int, int)}.</p>
+ * <p>The bytes are not copied, they must not be modified while the view is in use.</p>
+ */
+public class UTF8Sequence implements CharSequence {
+	private final byte[] bytes; // The backing array, null if the bytes are only accessible through the buffer.
+	private final ByteBuffer buffer;
+	private final int offset, length;
+	
+	public UTF8Sequence(final byte[] bytes, final int lower, final int upper) {
+		this.bytes = bytes;
+		this.buffer = null;
+		this.offset = lower;
+		this.length = upper - lower;
+	}
+	
+	public UTF8Sequence(final byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+	
+	/**
+	 * Creates a view of the bytes of {@code buffer} from its position to its limit, the position of the buffer is not changed.
+	 * 
+	 * @param buffer - the buffer that holds the bytes.
+	 */
+	public UTF8Sequence(final ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			this.bytes = buffer.array();
+			this.buffer = null;
+			this.offset = buffer.arrayOffset() + buffer.position();
+		} else {
+			this.bytes = null;
+			this.buffer = buffer;
+			this.offset = buffer.position();
+		}
+		this.length = buffer.remaining();
+	}
+	
+	private UTF8Sequence(final UTF8Sequence sequence, final int lower, final int upper) {
+		this.bytes = sequence.bytes;
+		this.buffer = sequence.buffer;
+		this.offset = sequence.offset + lower;
+		this.length = upper - lower;
+	}
+	
+	@Override
+	public int length() {
+		return this.length;
+	}
+	
+	@Override
+	public char charAt(final int index) {
+		return (char) ((this.bytes != null ? this.bytes[this.offset + index] : this.buffer.get(this.offset + index)) & 0xFF);
+	}
+	
+	@Override
+	public UTF8Sequence subSequence(final int start, final int end) {
+		return new UTF8Sequence(this, start, end);
+	}
+	
+	/**
+	 * Copies the bytes from bounds {@code lower} to {@code upper} to {@code target} without decoding them.
+	 * 
+	 * @param lower - the lower bound of the bytes.
+	 * @param upper - the upper bound of the bytes.
+	 * @param target - the array the bytes are copied to.
+	 * @param offset - the index in {@code target} of the first copied byte.
+	 */
+	public void getBytes(final int lower, final int upper, final byte[] target, final int offset) {
+		if (this.bytes != null) {
+			System.arraycopy(this.bytes, this.offset + lower, target, offset, upper - lower);
+		} else {
+			this.buffer.get(this.offset + lower, target, offset, upper - lower);
+		}
+	}
+	
+	/**
+	 * Decodes the bytes from bounds {@code lower} to {@code upper}.
+	 * 
+	 * @param lower - the lower bound of the bytes.
+	 * @param upper - the upper bound of the bytes.
+	 * @return the decoded {@link String}.
+	 */
+	public String decode(final int lower, final int upper) {
+		if (this.bytes != null) {
+			return new String(this.bytes, this.offset + lower, upper - lower, StandardCharsets.UTF_8);
+		}
+		final byte[] bytes = new byte[upper - lower];
+		this.buffer.get(this.offset + lower, bytes);
+		
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Decodes the bytes from bounds {@code lower} to {@code upper} and appends them to {@code string}.
+	 * <p>Bytes encoding ASCII characters are appended directly, only the other characters are decoded through a {@link String}.</p>
+	 * 
+	 * @param string - the {@link StringBuilder} the decoded characters are appended to.
+	 * @param lower - the lower bound of the bytes.
+	 * @param upper - the upper bound of the bytes.
+	 */
+	public void appendTo(final StringBuilder string, final int lower, final int upper) {
+		for (int i = lower; i < upper; ++i) {
+			final char read = this.charAt(i);
+			
+			if (read >= 0x80) {
+				string.append(this.decode(i, upper));
+				return;
+			}
+			string.append(read);
+		}
+	}
+	
+	/**
+	 * Encodes {@code string} as UTF-8 with every byte stored in a {@code char}, which is the form that {@link UTF8Sequence#charAt(int)} returns.
+	 * 
+	 * @param string - the {@link String} that will be encoded.
+	 * @return {@code string} itself if it only contains ASCII characters, otherwise its bytes as a {@link String}.
+	 */
+	public static String encode(final String string) {
+		for (int i = 0, length = string.length(); i < length; ++i) {
+			if (string.charAt(i) >= 0x80) {
+				return new String(string.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+			}
+		}
+		return string;
+	}
+	
+	/**
+	 * Encodes the character of {@code text} at index {@code i} as UTF-8 into {@code target}, which must have room for four bytes.
+	 * <p>A high surrogate that is followed by a low surrogate before {@code upper} is encoded together with it as a single code point of
+	 * four bytes. An unpaired surrogate cannot be encoded, it is replaced with {@code '?'} the same way as by the encoders of the JDK.</p>
+	 * 
+	 * @param text - the characters that are encoded.
+	 * @param i - the index of the character that will be encoded.
+	 * @param upper - the upper bound of {@code text}, a low surrogate is not looked for beyond it.
+	 * @param target - the array the bytes are written to.
+	 * @param offset - the index in {@code target} of the first written byte.
+	 * @return the amount of bytes written, four if and only if both characters of a surrogate pair were encoded.
+	 */
+	public static int encode(final CharSequence text, final int i, final int upper, final byte[] target, final int offset) {
+		final char read = text.charAt(i);
+		
+		if (read < 0x80) {
+			target[offset] = (byte) read;
+			return 1;
+		}
+		if (read < 0x800) {
+			target[offset] = (byte) (0xC0 | read >> 6);
+			target[offset + 1] = (byte) (0x80 | read & 0x3F);
+			return 2;
+		}
+		if (Character.isHighSurrogate(read) && i + 1 < upper && Character.isLowSurrogate(text.charAt(i + 1))) {
+			final int code = Character.toCodePoint(read, text.charAt(i + 1));
+			
+			target[offset] = (byte) (0xF0 | code >> 18);
+			target[offset + 1] = (byte) (0x80 | code >> 12 & 0x3F);
+			target[offset + 2] = (byte) (0x80 | code >> 6 & 0x3F);
+			target[offset + 3] = (byte) (0x80 | code & 0x3F);
+			return 4;
+		}
+		if (Character.isSurrogate(read)) {
+			target[offset] = '?';
+			return 1;
+		}
+		target[offset] = (byte) (0xE0 | read >> 12);
+		target[offset + 1] = (byte) (0x80 | read >> 6 & 0x3F);
+		target[offset + 2] = (byte) (0x80 | read & 0x3F);
+		return 3;
+	}
+	
+	/**
+	 * Decodes every byte of this view.
+	 * 
+	 * @return the decoded {@link String}.
+	 */
+	@Override
+	public String toString() {
+		return this.decode(0, this.length);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package org.lightweight.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONCache;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.utils.SymbolTable;
+
+class ContextTest {
+	@Test
+	void storageIsReused() {
+		final JSONParser.Context context = new JSONParser.Context();
+		final JSONObject first = context.parseObject("{\"a\":1}");
+		final JSONObject second = context.parseObject("{\"b\":2}");
+		
+		assertSame(first, second);
+		assertNull(second.get("a"));
+		assertEquals("2", second.get("b").toString());
+	}
+	
+	@Test
+	void frozenComponentsAreDropped() {
+		final JSONParser.Context context = new JSONParser.Context();
+		final JSONObject object = context.parseObject("{\"a\":1}").freeze();
+		final JSONArray array = context.parseArray("[1,2]").freeze();
+		
+		final JSONObject next = context.parseObject("{\"b\":2}");
+		context.reset();
+		
+		assertNotSame(object, next);
+		assertEquals("1", object.get("a").toString());
+		assertEquals(2, array.size());
+		assertNotSame(array, context.parseArray("[3]"));
+	}
+	
+	@Test
+	void cachedComponentsAreDropped() {
+		final JSONParser.Context context = new JSONParser.Context();
+		final JSONCache cache = new JSONCache(1 << 16);
+		final JSONObject object = context.parseObject("{\"a\":{\"b\":1}}").setCache(cache);
+		
+		assertEquals("1", object.get("a").getAsJSONObject().get("b").toString());
+		
+		final JSONObject next = context.parseObject("{\"c\":3}");
+		
+		assertNotSame(object, next);
+		assertNull(next.getCache());
+		assertEquals("1", object.get("a").getAsJSONObject().get("b").toString());
+	}
+	
+	@Test
+	void symbolTablesAreScopedToTheirContext() {
+		final SymbolTable symbols = new SymbolTable(64);
+		final JSONParser.Context context = new JSONParser.Context().setSymbolTable(symbols);
+		final String name = context.parseObject("{\"name\":{\"name\":1}}").get("name").getAsJSONObject().getName(0);
+		
+		// The nested object shares the table of the context, a later parse by the same context finds the same symbol.
+		assertSame(name, context.parseObject("{\"name\":2}").getName(0));
+		
+		final JSONReader reader = new JSONReader(new StringReader("{\"name\":3}")).setSymbolTable(symbols);
+		reader.beginObject();
+		assertSame(name, reader.nextName());
+		assertEquals(2, symbols.getHits());
+		
+		// A context without a table materializes every name anew, and so does a component parsed without one.
+		final JSONParser.Context other = new JSONParser.Context();
+		assertNull(other.parseObject("{}").getSymbolTable());
+		assertNotSame(name, other.parseObject("{\"name\":4}").getName(0));
+		assertNotSame(name, JSONParser.parseObject("{\"name\":5}").getName(0));
+	}
+	
+	@Test
+	void listenersAreScopedToTheirContext() {
+		final JSONMetrics metrics = new JSONMetrics(), others = new JSONMetrics();
+		final JSONParser.Context context = new JSONParser.Context().setListener(metrics);
+		
+		context.parseObject("{\"a\":1,\"b\":2}");
+		context.parseArray("[1,2,3]");
+		
+		// Neither another context nor the parses of the process are reported to the listener of the context.
+		new JSONParser.Context().setListener(others).parseObject("{\"c\":3}");
+		JSONParser.parseObject("{\"d\":4}");
+		
+		assertEquals(1, metrics.getObjects());
+		assertEquals(1, metrics.getArrays());
+		assertEquals(5, metrics.getValues());
+		assertEquals(1, others.getObjects());
+		assertNull(JSONParser.getListener());
+	}
+}
@@ -0,0 +1,63 @@
+package org.lightweight.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.components.JSONComponent;
+import org.lightweight.json.components.JSONObject;
+
+/**
+ * The lines written from components backed by characters and by bytes have to be the UTF-8 encoding of their text, whatever the size of the buffer.
+ */
+class JSONLinesWriterTest {
+	private static final String[] DOCUMENTS = { "{\"a\": \"é€😀\", \"b\": [1, 2.5, {\"c\": \"x\\\"y\"}]}", "{}", "[\"ñ\", null, true]", "{\"long\": \"" + "🎉ab".repeat(5000) + "\"}" };
+	
+	@Test
+	void lines() throws IOException {
+		for (final int bufferSize : new int[] { 1, 3, 7, 8192 }) {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final StringBuilder expected = new StringBuilder();
+			
+			try (final JSONLinesWriter writer = new JSONLinesWriter(bytes, bufferSize)) {
+				for (final String document : DOCUMENTS) {
+					final byte[] encoded = document.getBytes(StandardCharsets.UTF_8);
+					
+					for (final JSONComponent component : new JSONComponent[] { JSONLinesWriterTest.parse(document), JSONLinesWriterTest.parse(encoded) }) {
+						writer.write(component);
+						expected.append(component).append('\n');
+					}
+				}
+			}
+			assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+		}
+	}
+	
+	@Test
+	void readBack() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		
+		try (final JSONLinesWriter writer = new JSONLinesWriter(bytes, 16)) {
+			writer.write(JSONParser.parseObject(DOCUMENTS[0]));
+			writer.write(new JSONObject().add("s", "é\n😀"));
+		}
+		final List<JSONObject> objects = JSONLines.parse(bytes.toString(StandardCharsets.UTF_8));
+		
+		assertEquals(2, objects.size());
+		assertEquals("x\"y", objects.get(0).get("b").getAsJSONArray().get(2).getAsJSONObject().get("c").getAsString());
+		assertEquals("é\n😀", objects.get(1).get("s").getAsString());
+	}
+	
+	private static JSONComponent parse(final CharSequence json) {
+		return json.charAt(0) == '[' ? JSONParser.parseArray(json) : JSONParser.parseObject(json);
+	}
+	
+	private static JSONComponent parse(final byte[] json) {
+		return json[0] == '[' ? JSONParser.parseArray(json, 0, json.length) : JSONParser.parseObject(json, 0, json.length);
+	}
+}
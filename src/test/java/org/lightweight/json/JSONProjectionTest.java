@@ -0,0 +1,72 @@
+package org.lightweight.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.components.JSONObject;
+
+class JSONProjectionTest {
+	private static final String JSON = "{\"id\" : 7, \"name\":\"a\\\"b\", \"tags\":[1,{\"x\":\"}\"}], \"id\": 8, \"nested\" : {\"id\": 9}, \"rest\": [" + "1,".repeat(1000) + "1]}";
+	
+	@Test
+	void projectedValues() {
+		final JSONObject object = JSONParser.parseObject(JSON, Set.of("id", "tags", "missing"));
+		
+		assertEquals(2, object.size());
+		assertEquals("8", object.get("id").toString());
+		assertEquals("[1,{\"x\":\"}\"}]", object.get("tags").toString());
+		assertEquals("}", object.get("tags").getAsJSONArray().get(1).getAsJSONObject().get("x").getAsString());
+		assertNull(object.get("missing"));
+		assertNull(object.get("name"));
+	}
+	
+	@Test
+	void onlyTheProjectedValuesAreCopied() {
+		final JSONObject object = JSONParser.parseObject(JSON, Set.of("name", "nested"));
+		
+		assertTrue(object.getJSON().length() < 64, () -> object.getJSON().toString());
+		assertEquals("a\"b", object.get("name").getAsString());
+		assertEquals("9", object.get("nested").getAsJSONObject().get("id").toString());
+		assertEquals(JSONParser.parseObject(new JSONObject(JSON), 0, JSON.length(), new JSONProjection(Set.of("name", "nested"))).toString(), object.toString());
+	}
+	
+	@Test
+	void parsingStopsAtTheLastName() {
+		final String json = "{\"a\":1,\"b\":2,\"c\":3}";
+		final int last = json.indexOf("\"c\"") + 1;
+		
+		// Reading the name of c, or anything after it, would throw.
+		final CharSequence limited = new CharSequence() {
+			@Override
+			public int length() {
+				return json.length();
+			}
+			
+			@Override
+			public char charAt(final int index) {
+				if (index >= last) {
+					throw new IllegalStateException("Read index " + index);
+				}
+				return json.charAt(index);
+			}
+			
+			@Override
+			public CharSequence subSequence(final int start, final int end) {
+				return json.subSequence(start, end);
+			}
+			
+			@Override
+			public String toString() {
+				return json;
+			}
+		};
+		final JSONObject object = JSONParser.parseObject(limited, Set.of("a", "b"));
+		
+		assertEquals("1", object.get("a").toString());
+		assertEquals("2", object.get("b").toString());
+	}
+}
@@ -0,0 +1,108 @@
+package org.lightweight.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONValue;
+import org.lightweight.json.exceptions.JSONParseException;
+
+/**
+ * The arrays are large enough to be split into several chunks, the test task raises the parallelism of the common pool so they are
+ * split on any machine. Strings of commas, brackets, quotes and backslashes make the chunks start in the middle of strings and escapes.
+ */
+class ParallelArrayTest {
+	// The elements that the arrays are made of.
+	private static final String[] ELEMENTS = {
+		"1", "-2.5e3", "true", "null", "\"\"", "\"a,b\"", "\"[{\\\"\"", "\"\\\\\"", "\"\\\\\\\"],[\"", "\"x\\\\\\\\\"", "{\"a\":[1,\",\"],\"b\":{}}",
+		"[[],[[\"]\"]],{}]", "\"\\u00e9\u00e9\"", "{ \"]\" : \"[\" }", "[ 1 , 2 ]"
+	};
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	void parallelism() {
+		assertTrue(ForkJoinPool.getCommonPoolParallelism() > 1, "The arrays would be parsed sequentially");
+	}
+	
+	@Test
+	void randomArrays() {
+		final Random random = new Random(3);
+		
+		for (int i = 0; i < 20; ++i) {
+			final String json = ParallelArrayTest.generate(random, 4096 + random.nextInt(65536));
+			
+			assertEquals(ParallelArrayTest.elements(JSONParser.parseArray(json)), ParallelArrayTest.elements(JSONParser.parseArrayParallel(json)));
+		}
+	}
+	
+	@Test
+	void arraysOfLongStrings() {
+		// A single string spanning several chunks, surrounded by escaped quotes and backslashes.
+		final String string = "\"" + "\\\",[\\\\".repeat(100_000) + "\"";
+		final String json = "[" + string + ", 1, " + string + "]";
+		final JSONArray array = JSONParser.parseArrayParallel(json);
+		
+		assertEquals(ParallelArrayTest.elements(JSONParser.parseArray(json)), ParallelArrayTest.elements(array));
+		assertEquals(3, array.size());
+	}
+	
+	@Test
+	void files() throws IOException {
+		final String json = ParallelArrayTest.generate(new Random(5), 50_000);
+		final Path path = this.directory.resolve("array.json");
+		Files.writeString(path, json, StandardCharsets.UTF_8);
+		
+		assertEquals(ParallelArrayTest.elements(JSONParser.parseArray(json)), ParallelArrayTest.elements(JSONParser.parseArrayParallel(path)));
+	}
+	
+	@Test
+	void invalidArrays() {
+		final String json = ParallelArrayTest.generate(new Random(9), 50_000);
+		
+		for (final String invalid : new String[] { json.substring(0, json.length() - 1), json.substring(0, json.length() / 2) + "]", json.replaceFirst("\\[\\[", "["), json.replaceFirst("\"", "") }) {
+			assertEquals(ParallelArrayTest.outcome(() -> JSONParser.parseArray(invalid)), ParallelArrayTest.outcome(() -> JSONParser.parseArrayParallel(invalid)));
+		}
+		assertThrows(JSONParseException.class, () -> JSONParser.parseArrayParallel(json.substring(0, json.length() - 1)));
+	}
+	
+	// Generate an array of count random elements.
+	private static String generate(final Random random, final int count) {
+		final StringBuilder json = new StringBuilder("[");
+		
+		for (int i = 0; i < count; ++i) {
+			if (i != 0) {
+				json.append(random.nextBoolean() ? "," : " ,\n");
+			}
+			json.append(ELEMENTS[random.nextInt(ELEMENTS.length)]);
+		}
+		return json.append(']').toString();
+	}
+	
+	// Return the elements of the parsed array, or the message of the exception if it could not be parsed.
+	private static Object outcome(final Supplier<JSONArray> parse) {
+		try {
+			return ParallelArrayTest.elements(parse.get());
+		} catch (JSONParseException e) {
+			return e.getMessage();
+		}
+	}
+	
+	private static List<String> elements(final JSONArray array) {
+		return array.get().stream().map(JSONValue::toString).collect(Collectors.toList());
+	}
+}
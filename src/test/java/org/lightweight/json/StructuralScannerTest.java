@@ -0,0 +1,108 @@
+package org.lightweight.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.utils.UTF8Sequence;
+
+/**
+ * The positions recorded by the scanner are compared with the ones found by reading the characters one at a time, which exercises
+ * the escaped characters and the prefix XOR of the quotes across the boundaries of the blocks.
+ */
+class StructuralScannerTest {
+	@Test
+	void backslashRunsAcrossBlocks() {
+		// Runs of every length from 0 to 130 backslashes end at every position around the boundaries of the first two blocks.
+		for (int run = 0; run <= 130; ++run) {
+			for (int end = Math.max(run, 56); end <= 136; ++end) {
+				final String json = "[\"" + "a".repeat(end - run) + "\\".repeat(run) + "\"x\", 1]";
+				
+				StructuralScannerTest.assertScanned(json);
+			}
+		}
+	}
+	
+	@Test
+	void quotesAcrossBlocks() {
+		// A string that opens in one block and closes in the next, or in any of the blocks after it.
+		for (int open = 0; open < 70; ++open) {
+			for (final int length : new int[] { 0, 1, 63, 64, 65, 127, 128, 129, 200 }) {
+				StructuralScannerTest.assertScanned("[" + " ".repeat(open) + "\"" + "{,".repeat(length / 2) + "\", true, {\"a\":[]}]");
+			}
+		}
+	}
+	
+	@Test
+	void randomDocuments() {
+		final Random random = new Random(11);
+		final char[] alphabet = { '\\', '\\', '\\', '"', '"', '{', '}', '[', ']', ',', ':', ' ', '\n', 'a', '1', 'é' };
+		
+		for (int i = 0; i < 2000; ++i) {
+			final char[] json = new char[random.nextInt(400)];
+			
+			for (int j = 0; j < json.length; ++j) {
+				json[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+			StructuralScannerTest.assertScanned(new String(json));
+		}
+	}
+	
+	// Assert that the scanner records the same positions as the reference, from the characters and from the bytes.
+	private static void assertScanned(final String json) {
+		final int[] expected = StructuralScannerTest.reference(json);
+		
+		assertArrayEquals(expected, StructuralScannerTest.positions(new StructuralScanner().scan(json)), json);
+		assertArrayEquals(expected, StructuralScannerTest.positions(new StructuralScanner().scan(new StringBuilder(json))), json);
+		
+		// The positions in the bytes only match if every character is encoded as a single byte.
+		if (json.chars().allMatch(character -> character < 0x80)) {
+			final UTF8Sequence bytes = new UTF8Sequence(json.getBytes(StandardCharsets.UTF_8));
+			assertArrayEquals(expected, StructuralScannerTest.positions(new StructuralScanner().scan(bytes)), json);
+		}
+	}
+	
+	private static int[] positions(final StructuralScanner scanner) {
+		final int[] positions = new int[scanner.size()];
+		
+		for (int i = 0; i < positions.length; ++i) {
+			positions[i] = scanner.get(i);
+		}
+		return positions;
+	}
+	
+	// Find the structural characters outside of strings, the quotes that are not escaped and the first characters of the primitive
+	// values one character at a time. A backslash escapes the next character wherever it is, just like in the bitmasks.
+	private static int[] reference(final String json) {
+		final int[] positions = new int[json.length()];
+		int size = 0;
+		boolean escaped = false, inside = false, scalar = false;
+		
+		for (int i = 0; i < json.length(); ++i) {
+			final char read = json.charAt(i);
+			final boolean quote = read == '"' && !escaped;
+			
+			escaped = read == '\\' && !escaped;
+			
+			if (quote) {
+				positions[size++] = i;
+				inside = !inside;
+				scalar = false;
+			} else if (inside || read <= ' ') {
+				scalar = false;
+			} else if ("{}[],:".indexOf(read) >= 0) {
+				positions[size++] = i;
+				scalar = false;
+			} else {
+				if (!scalar) {
+					positions[size++] = i;
+				}
+				scalar = true;
+			}
+		}
+		return Arrays.copyOf(positions, size);
+	}
+}
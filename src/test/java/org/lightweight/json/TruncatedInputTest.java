@@ -0,0 +1,70 @@
+package org.lightweight.json;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.lightweight.json.exceptions.JSONParseException;
+
+/**
+ * A truncated document has to be reported with a {@link JSONParseException}, never by reading past the end of its input.
+ * <p>The parser is lenient and the path and projection scans stop at the values they look for, so a prefix may be accepted,
+ * but no prefix may make the parser fail with any other exception.</p>
+ */
+class TruncatedInputTest {
+	private static final String OBJECT = "{\"a\" : [1, {\"b\\\"x\":\"q\\\\\",\"c\":[true,null,\"}]\"]}, 3.5e2 ], \"n\": \"v\", \"e\": {\"x\": [ [], {} ]}, \"s\":\"\", \"t\" : true }";
+	private static final String ARRAY = "[ \"a\\\\\", {\"k\" : 1 } , [2,3], 4 , \"x\" , true ]";
+	
+	@Test
+	void unterminatedStrings() {
+		assertThrows(JSONParseException.class, () -> JSONParser.parseObject("{\""));
+		assertThrows(JSONParseException.class, () -> JSONParser.parseObject("{\"a\""));
+		assertThrows(JSONParseException.class, () -> JSONParser.parseObject("{\"a\":\""));
+		assertThrows(JSONParseException.class, () -> JSONParser.parseObject("{\"a\":1"));
+		assertThrows(JSONParseException.class, () -> JSONParser.parseArray("[\""));
+		assertThrows(JSONParseException.class, () -> JSONParser.parseArray("[\"a\\"));
+	}
+	
+	@Test
+	void objectPrefixes() {
+		for (int length = 0; length < OBJECT.length(); ++length) {
+			final String json = OBJECT.substring(0, length);
+			final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+			
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.parseObject(json));
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.parseObject(bytes, 0, bytes.length));
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.indexObject(json));
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.parseObject(json, Set.of("t")));
+			TruncatedInputTest.assertRejected(json, () -> JSONPath.compile("$.t").evaluate(json));
+		}
+	}
+	
+	@Test
+	void arrayPrefixes() {
+		for (int length = 0; length < ARRAY.length(); ++length) {
+			final String json = ARRAY.substring(0, length);
+			final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+			
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.parseArray(json));
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.parseArray(bytes, 0, bytes.length));
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.indexArray(json));
+			TruncatedInputTest.assertRejected(json, () -> JSONParser.parseArrayParallel(json));
+			TruncatedInputTest.assertRejected(json, () -> JSONPath.compile("$[5]").evaluate(json));
+		}
+	}
+	
+	// Fail if executable throws anything but a JSONParseException.
+	private static void assertRejected(final String json, final Executable executable) {
+		try {
+			executable.execute();
+		} catch (JSONParseException e) {
+			// The truncated input was reported.
+		} catch (Throwable e) {
+			fail("The prefix " + json + " failed with " + e, e);
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package org.lightweight.json.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.JSONParser;
+
+class JSONComponentTest {
+	@Test
+	void builderIsCopied() {
+		final StringBuilder builder = new StringBuilder("{\"a\":1}");
+		final JSONObject object = JSONParser.parseObject(new JSONObject(builder), 0, builder.length());
+		
+		builder.setLength(0);
+		builder.append("{\"b\":2}");
+		
+		assertNotSame(builder, object.getJSON());
+		assertEquals("1", object.get("a").toString());
+		
+		object.add("c", 3);
+		assertEquals("{\"b\":2}", builder.toString());
+	}
+	
+	@Test
+	void navigatedComponentsDetachBeforeModification() {
+		final JSONObject parent = JSONParser.parseObject("{\"a\":{\"b\":1},\"c\":[2]}");
+		final String json = parent.getJSON().toString();
+		
+		final JSONObject child = parent.get("a").getAsJSONObject();
+		child.add("d", 4);
+		
+		final JSONArray elements = parent.get("c").getAsJSONArray();
+		elements.add(5);
+		
+		assertEquals(json, parent.getJSON().toString());
+		assertEquals("{\"b\":1,\"d\":4}", child.toString());
+		assertEquals("[2,5]", elements.toString());
+		assertEquals("{\"b\":1}", parent.get("a").toString());
+	}
+	
+	@Test
+	void stringIsShared() {
+		final String json = "{\"a\":[1,2]}";
+		final JSONObject object = JSONParser.parseObject(new JSONObject(json), 0, json.length());
+		
+		object.add("b", true);
+		
+		assertEquals("{\"a\":[1,2]}", json);
+		assertEquals("{\"a\":[1,2],\"b\":true}", object.toString());
+	}
+}
@@ -0,0 +1,101 @@
+package org.lightweight.json.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The numbers are compared bit for bit with {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)}.
+ */
+class JSONNumbersTest {
+	private static final String[] NUMBERS = {
+		"0", "-0", "1", "-1", "0.5", "1.5", "3.141592653589793", "0.1", "0.2", "0.30000000000000004", "123456789", "-987654321.125",
+		"1e22", "1e23", "9007199254740992", "9007199254740993", "9007199254740995", "18446744073709551615", "9999999999999999999",
+		// 19 significant digits and more, which are passed on.
+		"1234567890123456789", "12345678901234567890", "0.1000000000000000055511151231257827", "123456789012345678901234567890e-10",
+		"1.00000000000000011102230246251565404236316680908203125", "1.00000000000000011102230246251565404236316680908203124",
+		"1.00000000000000011102230246251565404236316680908203126", "0.00000000000000000000000000000000000000000000000000001",
+		// The largest values and the ones that overflow to infinity.
+		"1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e308", "1e309", "-1e400", "1e99999", "1e2147483648",
+		"3.4028235e38", "3.4028236e38", "3.40282357e38", "1e38", "1e39",
+		// The subnormal values and the ones that underflow to zero.
+		"2.2250738585072014e-308", "2.2250738585072011e-308", "2.2250738585072012e-308", "4.9e-324", "5e-324", "2.4703282292062327e-324",
+		"2.4703282292062328e-324", "1e-323", "1e-400", "-1e-99999", "1.17549435e-38", "1.1754942e-38", "1.4e-45", "7e-46", "8e-46",
+		"7.038531e-26", "8.589973e9", "1E5", "1e+5", "1E-5", "0.0e0", "0e-5", "10000000000000000000000e-22"
+	};
+	
+	@Test
+	void knownNumbers() {
+		for (final String number : NUMBERS) {
+			JSONNumbersTest.assertParsed(number);
+		}
+	}
+	
+	@Test
+	void randomDoubles() {
+		final Random random = new Random(42);
+		
+		for (int i = 0; i < 100_000; ++i) {
+			final double value = Double.longBitsToDouble(random.nextLong());
+			
+			if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+				JSONNumbersTest.assertParsed(Double.toString(value));
+			}
+			JSONNumbersTest.assertParsed(Float.toString(Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF)));
+		}
+	}
+	
+	@Test
+	void randomDigits() {
+		final Random random = new Random(7);
+		final StringBuilder number = new StringBuilder();
+		
+		for (int i = 0; i < 100_000; ++i) {
+			number.setLength(0);
+			
+			if (random.nextBoolean()) {
+				number.append('-');
+			}
+			// Up to 24 digits, so some of them have more than 19 significant ones.
+			final int digits = 1 + random.nextInt(24), point = random.nextInt(digits + 1);
+			
+			number.append(1 + random.nextInt(9));
+			
+			for (int digit = 1; digit < digits; ++digit) {
+				if (digit == point) {
+					number.append('.');
+				}
+				number.append(random.nextInt(10));
+			}
+			if (random.nextBoolean()) {
+				number.append('e').append(random.nextInt(700) - 350);
+			}
+			JSONNumbersTest.assertParsed(number.toString());
+		}
+	}
+	
+	@Test
+	void numbersWithinBounds() {
+		final String json = "[12.5e-3,-7]";
+		
+		assertEquals(12.5e-3, JSONNumbers.parseDouble(json, 1, 8));
+		assertEquals(-7f, JSONNumbers.parseFloat(json, 9, 11));
+	}
+	
+	@Test
+	void invalidNumbers() {
+		for (final String number : new String[] { "", "-", "e5", "1e", "1e+", ".", "abc", "1.5x" }) {
+			assertThrows(NumberFormatException.class, () -> JSONNumbers.parseDouble(number, 0, number.length()), number);
+			assertThrows(NumberFormatException.class, () -> JSONNumbers.parseFloat(number, 0, number.length()), number);
+		}
+	}
+	
+	// Assert that number is parsed to the same bits as by Double#parseDouble(String) and Float#parseFloat(String).
+	private static void assertParsed(final String number) {
+		assertEquals(Double.doubleToRawLongBits(Double.parseDouble(number)), Double.doubleToRawLongBits(JSONNumbers.parseDouble(number, 0, number.length())), number);
+		assertEquals(Float.floatToRawIntBits(Float.parseFloat(number)), Float.floatToRawIntBits(JSONNumbers.parseFloat(number, 0, number.length())), number);
+	}
+}
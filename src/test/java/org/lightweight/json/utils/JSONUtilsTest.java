@@ -0,0 +1,98 @@
+package org.lightweight.json.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.JSONWriter;
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONObject;
+
+class JSONUtilsTest {
+	// Every control character, the characters that have a short escape sequence, non-ASCII characters and surrogate pairs.
+	private static final String SPECIAL = JSONUtilsTest.controlCharacters() + "\"\\/\b\f\n\r\t\u007fé€😀 𝄞";
+	
+	@Test
+	void escapeSequences() {
+		assertEquals("\\\"\\\\\\b\\f\\n\\r\\t", JSONUtils.escapeAsString("\"\\\b\f\n\r\t"));
+		assertEquals("\\u0000\\u0001\\u001f", JSONUtils.escapeAsString("\u0000\u0001\u001f"));
+		assertEquals("é😀", JSONUtils.escapeAsString("é😀"));
+		
+		final String plain = "nothing to escape";
+		assertSame(plain, JSONUtils.escapeAsString(plain));
+	}
+	
+	@Test
+	void unescapeSequences() {
+		assertEquals("\"\\/\b\f\n\r\t", JSONUtils.unescapeAsString("\\\"\\\\\\/\\b\\f\\n\\r\\t"));
+		assertEquals("\u0000\u001fé", JSONUtils.unescapeAsString("\\u0000\\u001F\\u00e9"));
+		assertEquals("😀", JSONUtils.unescapeAsString("\\ud83d\\ude00"));
+		
+		// A backslash that does not start a valid escape sequence is kept.
+		assertEquals("\\x\\u12\\", JSONUtils.unescapeAsString("\\x\\u12\\"));
+		assertEquals("b", JSONUtils.unescape("a\\u0062c", 1, 7).toString());
+	}
+	
+	@Test
+	void roundTrips() {
+		JSONUtilsTest.assertRoundTrip(SPECIAL);
+		
+		// Lone surrogates are kept as they are.
+		JSONUtilsTest.assertRoundTrip("\ud83d \ude00\ud83d");
+		
+		final Random random = new Random(13);
+		
+		for (int i = 0; i < 10_000; ++i) {
+			final StringBuilder text = new StringBuilder();
+			
+			for (int length = random.nextInt(32); length > 0; --length) {
+				text.append(SPECIAL.charAt(random.nextInt(SPECIAL.length())));
+			}
+			JSONUtilsTest.assertRoundTrip(text.toString());
+		}
+	}
+	
+	@Test
+	void componentRoundTrips() {
+		final JSONObject parsed = JSONParser.parseObject(new JSONObject().add("s", SPECIAL).toString());
+		assertEquals(SPECIAL, parsed.get("s").getAsString());
+		
+		final JSONArray array = JSONParser.parseArray(new JSONArray().add(SPECIAL).toString());
+		assertEquals(SPECIAL, array.get(0).getAsString());
+	}
+	
+	@Test
+	void writerRoundTrips() throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		
+		try (final JSONWriter writer = new JSONWriter(bytes, 16)) {
+			writer.beginObject().name("s").value(SPECIAL).endObject();
+		}
+		final JSONObject parsed = JSONParser.parseObject(bytes.toByteArray(), 0, bytes.size());
+		assertEquals(SPECIAL, parsed.get("s").getAsString());
+	}
+	
+	private static void assertRoundTrip(final String text) {
+		final String escaped = JSONUtils.escapeAsString(text);
+		
+		// No control character is left as it is and every quote is escaped.
+		assertTrue(escaped.chars().noneMatch(read -> read < 0x20), escaped);
+		assertEquals(-1, escaped.replace("\\\\", "").replace("\\\"", "").indexOf('"'), escaped);
+		assertEquals(text, JSONUtils.unescapeAsString(escaped));
+	}
+	
+	private static String controlCharacters() {
+		final StringBuilder characters = new StringBuilder();
+		
+		for (char character = 0; character < 0x20; ++character) {
+			characters.append(character);
+		}
+		return characters.toString();
+	}
+}
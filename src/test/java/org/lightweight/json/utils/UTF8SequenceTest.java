@@ -0,0 +1,116 @@
+package org.lightweight.json.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.lightweight.json.JSONParser;
+import org.lightweight.json.components.JSONArray;
+import org.lightweight.json.components.JSONObject;
+import org.lightweight.json.components.JSONValue;
+
+/**
+ * A document parsed from its UTF-8 bytes has to read the same as the document parsed from its characters.
+ */
+class UTF8SequenceTest {
+	private static final String OBJECT = "{\"name\" : \"Zoë\", \"é\": \"€ 😀\", \"escaped\": \"a\\\"b\\\\\\u00e9\\ud83d\\ude00\", \"number\": -12.5e2,"
+			+ " \"integer\": 42, \"flag\": true, \"nothing\": null, \"list\": [1, \"ü\", {\"𝄞\": [\"x\"]}], \"nested\": {\"ß\": {\"a\": \"日本\"}}}";
+	private static final String ARRAY = "[\"é\", 1.5, [\"😀\", {\"k\": \"ñ\"}], {}, \"\", false]";
+	
+	@Test
+	void objects() {
+		final JSONObject expected = JSONParser.parseObject(OBJECT);
+		
+		for (final JSONObject object : UTF8SequenceTest.encodings(OBJECT, JSONParser::parseObject, JSONParser::parseObject, JSONParser::parseObject)) {
+			assertEquals(expected.toString(), object.toString());
+			assertEquals(expected.size(), object.size());
+			
+			for (int field = 0; field < expected.size(); ++field) {
+				assertEquals(expected.getName(field), object.getName(field));
+				assertEquals(expected.get(expected.getName(field)).toString(), object.get(expected.getName(field)).toString());
+			}
+			assertEquals("Zoë", object.get("name").getAsString());
+			assertEquals("€ 😀", object.get("é").getAsString());
+			assertEquals("a\"b\\é😀", object.get("escaped").getAsString());
+			assertEquals(-1250.0, object.get("number").getAsDouble());
+			assertEquals(42, object.get("integer").getAsInt());
+			assertEquals(true, object.get("flag").getAsBoolean());
+			assertEquals("x", object.get("list").getAsJSONArray().get(2).getAsJSONObject().get("𝄞").getAsJSONArray().get(0).getAsString());
+			assertEquals("日本", object.get("nested").getAsJSONObject().get("ß").getAsJSONObject().get("a").getAsString());
+		}
+	}
+	
+	@Test
+	void arrays() {
+		final JSONArray expected = JSONParser.parseArray(ARRAY);
+		
+		for (final JSONArray array : UTF8SequenceTest.encodings(ARRAY, JSONParser::parseArray, JSONParser::parseArray, JSONParser::parseArray)) {
+			assertEquals(expected.toString(), array.toString());
+			assertEquals(UTF8SequenceTest.strings(expected), UTF8SequenceTest.strings(array));
+			assertEquals("ñ", array.get(2).getAsJSONArray().get(1).getAsJSONObject().get("k").getAsString());
+		}
+	}
+	
+	@Test
+	void sequences() {
+		final String text = "aé€😀z";
+		final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		final UTF8Sequence sequence = new UTF8Sequence(bytes);
+		
+		assertEquals(bytes.length, sequence.length());
+		assertEquals(text, sequence.toString());
+		assertEquals("é€", sequence.decode(1, 6));
+		assertEquals(new String(bytes, StandardCharsets.ISO_8859_1), UTF8Sequence.encode(text));
+		
+		// A character is encoded at a time, a surrogate pair together with its low surrogate.
+		final byte[] encoded = new byte[bytes.length];
+		
+		for (int i = 0, offset = 0; i < text.length(); ++i) {
+			final int written = UTF8Sequence.encode(text, i, text.length(), encoded, offset);
+			
+			offset += written;
+			i += written == 4 ? 1 : 0;
+		}
+		assertEquals(text, new String(encoded, StandardCharsets.UTF_8));
+	}
+	
+	private interface BytesParser<T> {
+		T parse(byte[] json, int lower, int upper);
+	}
+	
+	// Parse json from its bytes: within a larger array, from a heap buffer, from a direct buffer and from a read-only buffer with a position.
+	private static <T> List<T> encodings(final String json, final BytesParser<T> bytes, final Function<ByteBuffer, T> buffer, final Function<CharSequence, T> characters) {
+		final byte[] encoded = json.getBytes(StandardCharsets.UTF_8);
+		final byte[] padded = new byte[encoded.length + 8];
+		System.arraycopy(encoded, 0, padded, 3, encoded.length);
+		
+		final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+		direct.put(encoded).flip();
+		
+		final ByteBuffer positioned = ByteBuffer.wrap(padded, 3, encoded.length).asReadOnlyBuffer();
+		
+		final List<T> parsed = new ArrayList<>();
+		parsed.add(bytes.parse(encoded, 0, encoded.length));
+		parsed.add(bytes.parse(padded, 3, 3 + encoded.length));
+		parsed.add(buffer.apply(ByteBuffer.wrap(encoded)));
+		parsed.add(buffer.apply(direct));
+		parsed.add(buffer.apply(positioned));
+		parsed.add(characters.apply(new UTF8Sequence(encoded).toString()));
+		
+		return parsed;
+	}
+	
+	private static List<String> strings(final JSONArray array) {
+		final List<String> strings = new ArrayList<>();
+		
+		for (final JSONValue value : array) {
+			strings.add(value.toString());
+		}
+		return strings;
+	}
+}